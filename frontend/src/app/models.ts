@@ -47,3 +47,11 @@ export interface Page<T> {
     last: boolean;
     empty: boolean;
 }
+
+export interface TaskStats {
+    total: number;
+    byStatus: Record<Task['status'], number>;
+    byPriority: Record<Task['priority'], number>;
+    overdue: number;
+    nextDeadline?: string;
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { ApiResponse, Page, Task, SubTask } from '../../models';
+import { ApiResponse, Page, Task, SubTask, TaskStats } from '../../models';
 
 @Injectable({
   providedIn: 'root'
@@ -23,6 +23,10 @@ export class TaskService {
     return this.http.get<ApiResponse<Page<Task>>>(`${this.apiUrl}/tasks`, { params });
   }
 
+  getStats(): Observable<ApiResponse<TaskStats>> {
+    return this.http.get<ApiResponse<TaskStats>>(`${this.apiUrl}/tasks/stats`);
+  }
+
   getTask(id: number): Observable<ApiResponse<Task>> {
     return this.http.get<ApiResponse<Task>>(`${this.apiUrl}/tasks/${id}`);
   }
@@ -0,0 +1,71 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response body of a task page as the HTTP message converter writes it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    @Param({"3"})
+    public int subtasksPerTask;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<Task>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the application's mapper (java.time support, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Task> tasks = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Task task = new Task();
+            task.setId(i);
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.values()[(int) (i % 3)]);
+            task.setStatus(Task.Status.PENDING);
+            task.setDeadline(LocalDate.of(2030, 1, 1).plusDays(i));
+            for (long j = 1; j <= subtasksPerTask; j++) {
+                SubTask subTask = new SubTask();
+                subTask.setId(i * 1000 + j);
+                subTask.setTitle("Subtask " + j + " of task " + i);
+                subTask.setPriority(Task.Priority.LOW);
+                subTask.setStatus(Task.Status.IN_PROGRESS);
+                subTask.setDeadline(task.getDeadline());
+                task.addSubTask(subTask);
+            }
+            tasks.add(task);
+        }
+        Page<Task> page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000);
+        response = new ApiResponse<>(true, 200, "Tasks retrieved successfully", page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.tasks_management_backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue and the per-request checks. Verification is memoised per token, so extractUsername and
+// validateToken measure the cached path; verifyToken_Uncached cycles through more distinct tokens than its
+// cache holds, so every call pays for signature and claims parsing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncached;
+    private UserDetails userDetails;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000, 10_000);
+        uncached = new JwtUtil(SECRET, 3_600_000, 1);
+        userDetails = User.withUsername("benchmark-user")
+                .password("password")
+                .authorities("ROLE_USER")
+                .build();
+        token = jwtUtil.generateToken(userDetails);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken(User.withUsername("benchmark-user-" + i)
+                    .password("password")
+                    .authorities("ROLE_USER")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public Object verifyToken_Uncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return uncached.verifyToken(tokens[next]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The subtask merge in TaskService.updateTask for a full resubmission of a task's subtasks. Every incoming id
+// already exists: mergeSubtasks_Edited edits every row (the edited task is reverted before each invocation,
+// outside the measurement, so each invocation is one merge), mergeSubtasks_Unchanged resubmits the current state
+// so every row is compared and skipped.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubtaskMergeBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int subtasks;
+
+    private Task existingTask;
+    private List<SubTask> incoming;
+    private List<SubTask> current;
+
+    @Setup
+    public void setUp() {
+        existingTask = new Task();
+        existingTask.setId(1L);
+        incoming = new ArrayList<>(subtasks);
+        current = new ArrayList<>(subtasks);
+        LocalDate deadline = LocalDate.of(2030, 1, 1);
+        for (long id = 1; id <= subtasks; id++) {
+            existingTask.addSubTask(subTask(id, "Subtask " + id, deadline));
+            incoming.add(subTask(id, "Edited subtask " + id, deadline.plusDays(1)));
+            current.add(subTask(id, "Subtask " + id, deadline));
+        }
+    }
+
+    @Benchmark
+    public TaskService.SubtaskDiff mergeSubtasks_Edited(EditTarget target) {
+        return TaskService.mergeSubtasks(target.task, incoming);
+    }
+
+    @Benchmark
+    public TaskService.SubtaskDiff mergeSubtasks_Unchanged() {
+        return TaskService.mergeSubtasks(existingTask, current);
+    }
+
+    // A task of its own for the edit, put back into its original state before every invocation
+    @State(Scope.Thread)
+    public static class EditTarget {
+
+        private static final LocalDate DEADLINE = LocalDate.of(2030, 1, 1);
+
+        private Task task;
+
+        @Setup(Level.Trial)
+        public void setUp(SubtaskMergeBenchmark benchmark) {
+            task = new Task();
+            task.setId(2L);
+            for (long id = 1; id <= benchmark.subtasks; id++) {
+                task.addSubTask(subTask(id, "Subtask " + id, DEADLINE));
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void revert() {
+            for (SubTask subTask : task.getSubtasks()) {
+                subTask.setTitle("Subtask " + subTask.getId());
+                subTask.setDeadline(DEADLINE);
+            }
+        }
+    }
+
+    private static SubTask subTask(long id, String title, LocalDate deadline) {
+        SubTask subTask = new SubTask();
+        subTask.setId(id);
+        subTask.setTitle(title);
+        subTask.setPriority(Task.Priority.MEDIUM);
+        subTask.setStatus(Task.Status.PENDING);
+        subTask.setDeadline(deadline);
+        return subTask;
+    }
+}
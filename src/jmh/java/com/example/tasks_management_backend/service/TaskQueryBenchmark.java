@@ -0,0 +1,134 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.UserSnapshot;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Per-request work on the GET /api/tasks path before any SQL runs: the @Cacheable key expression and the
+// filter Specification. The key is evaluated the way the cache interceptor does it: the parsed expression is
+// reused and a fresh method-based evaluation context is created per call.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskQueryBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private TaskCacheKeys taskCacheKeys;
+    private TaskService taskService;
+    private BeanFactoryResolver beanResolver;
+    private Method getTaskViews;
+    private Expression listKeyExpression;
+    private Object[] arguments;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp() throws Exception {
+        User user = new User(USERNAME, "password", Set.of());
+        user.setId(1L);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(UserCache.CACHE_NAME);
+        cacheManager.getCache(UserCache.CACHE_NAME).put(USERNAME, UserSnapshot.from(user));
+        CacheInvalidationBus invalidationBus = new CacheInvalidationBus(new LocalCacheInvalidationTransport());
+        // The user is always found in the cache, so the repository is never called
+        UserService userService = new UserService(null, null, new UserCache(null, cacheManager, invalidationBus));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(USERNAME, null, List.of()));
+
+        taskCacheKeys = new TaskCacheKeys(userService, invalidationBus);
+        taskService = new TaskService(null, null, userService, null, null, null, taskCacheKeys);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("taskCacheKeys", taskCacheKeys);
+        beanResolver = new BeanFactoryResolver(beanFactory);
+        getTaskViews = TaskService.class.getMethod("getTaskViews", Task.Priority.class, Task.Status.class,
+                LocalDate.class, String.class, String.class, int.class, int.class);
+        listKeyExpression = new SpelExpressionParser()
+                .parseExpression(getTaskViews.getAnnotation(Cacheable.class).key());
+        arguments = new Object[] {Task.Priority.HIGH, Task.Status.PENDING, LocalDate.of(2030, 1, 1), "deadline",
+                "desc", 0, 20};
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:benchmark", "sa", "");
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("com.example.tasks_management_backend.model");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        criteriaBuilder = entityManagerFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactoryBean.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object listKey_SpelExpression() {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(taskService, getTaskViews,
+                arguments, parameterNameDiscoverer);
+        context.setBeanResolver(beanResolver);
+        return listKeyExpression.getValue(context);
+    }
+
+    // Baseline for the expression: the same key built by a plain call
+    @Benchmark
+    public Object listKey_Direct() {
+        return taskCacheKeys.listKey(Task.Priority.HIGH, Task.Status.PENDING, LocalDate.of(2030, 1, 1), "deadline",
+                "desc", 0, 20);
+    }
+
+    @Benchmark
+    public Specification<Task> buildSpecification() {
+        return taskService.buildSpecification(Task.Priority.HIGH, Task.Status.PENDING, LocalDate.of(2030, 1, 1));
+    }
+
+    // Specification construction plus the criteria predicate tree it produces
+    @Benchmark
+    public Predicate buildSpecificationPredicate() {
+        Specification<Task> spec = taskService.buildSpecification(Task.Priority.HIGH, Task.Status.PENDING,
+                LocalDate.of(2030, 1, 1));
+        CriteriaQuery<Task> query = criteriaBuilder.createQuery(Task.class);
+        Root<Task> root = query.from(Task.class);
+        return spec.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.tasks_management_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies (microseconds, 3 significant digits, up to a minute) and failures of one operation. Recording is
+// wait-free; snapshot() hands over everything recorded since the previous call, which is how warmup is dropped.
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void recordSuccess(long elapsedNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        recorder.recordValue(Math.max(micros, 1));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(recorder.getIntervalHistogram(), errors.sumThenReset());
+    }
+
+    record Snapshot(Histogram latencies, long errors) {
+    }
+}
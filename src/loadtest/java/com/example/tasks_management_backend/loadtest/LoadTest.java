@@ -0,0 +1,132 @@
+package com.example.tasks_management_backend.loadtest;
+
+import com.example.tasks_management_backend.TasksManagementBackendApplication;
+import com.example.tasks_management_backend.loadtest.LoadTestConfig.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Drives the task API with loadtest.users concurrent virtual users and reports latency percentiles and
+// throughput per operation. Without loadtest.base-url the application is started in this JVM on a random port
+// (load generator and server then share the machine); point it at a separately started server for sizing.
+//
+//   mvn -Ploadtest -DskipTests verify -Dloadtest.users=100 -Dloadtest.duration=2m -Dloadtest.label=baseline
+public final class LoadTest {
+
+    // Keeps the embedded server off AWS and quiet. Set as system properties so they override
+    // application.properties, unless the same property was passed with -D.
+    private static final Map<String, String> EMBEDDED_SERVER_DEFAULTS = Map.of(
+            "aws.region", "us-east-1",
+            "aws.accessKeyId", "loadtest",
+            "aws.secretAccessKey", "loadtest",
+            "app.task.cron", "-",
+            "spring.kafka.admin.auto-create", "false",
+            "app.instrumentation.log-sample-rate", "0",
+            "spring.jpa.show-sql", "false",
+            "logging.level.org.hibernate.SQL", "WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN",
+            "logging.level.org.springframework.cache", "WARN");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext server = null;
+        if (config.embedded()) {
+            EMBEDDED_SERVER_DEFAULTS.forEach((name, value) -> {
+                if (System.getProperty(name) == null) {
+                    System.setProperty(name, value);
+                }
+            });
+            server = new SpringApplicationBuilder(TasksManagementBackendApplication.class).run("--server.port=0");
+            int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+            config = config.withBaseUrl("http://localhost:" + port);
+        }
+        try {
+            run(config);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void run(LoadTestConfig config) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        // All operations are tracked: one can stand in for another (CREATE when a user has no tasks left)
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.users());
+        try {
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<VirtualUser> users = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                users.add(new VirtualUser(httpClient, objectMapper, config, i, stats, running::get));
+            }
+
+            System.out.printf("Seeding %d users with %d tasks each at %s%n", config.users(), config.tasksPerUser(),
+                    config.baseUrl());
+            List<Future<?>> seeding = new ArrayList<>();
+            for (VirtualUser user : users) {
+                seeding.add(executor.submit(() -> {
+                    user.seed();
+                    return null;
+                }));
+            }
+            for (Future<?> future : seeding) {
+                future.get();
+            }
+
+            System.out.printf("Warming up for %s, then measuring for %s%n", config.warmup(), config.duration());
+            List<Future<?>> workers = new ArrayList<>();
+            for (VirtualUser user : users) {
+                workers.add(executor.submit(user));
+            }
+            Thread.sleep(config.warmup().toMillis());
+            stats.values().forEach(EndpointStats::snapshot);
+
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            Thread.sleep(config.duration().toMillis());
+            Map<Operation, EndpointStats.Snapshot> snapshots = new EnumMap<>(Operation.class);
+            stats.forEach((operation, endpointStats) -> snapshots.put(operation, endpointStats.snapshot()));
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+
+            LoadTestReport report = LoadTestReport.of(config, startedAt, elapsed, snapshots);
+            report.write(config.reportDir(), snapshots);
+            report.print(System.out);
+            System.out.printf("Report written to %s%n", config.reportDir().resolve(config.label() + ".json")
+                    .toAbsolutePath());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tasks_management_backend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Settings of one load test run, read from loadtest.* system properties (see the loadtest profile in pom.xml)
+record LoadTestConfig(
+        String baseUrl,
+        int users,
+        int tasksPerUser,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        Map<Operation, Integer> mix,
+        String password,
+        Path reportDir,
+        String label) {
+
+    // Operations a virtual user performs, each reported as its own endpoint
+    enum Operation {
+        LOGIN, LIST, GET, CREATE, UPDATE, DELETE
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", ""),
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.tasks-per-user", 200),
+                duration("loadtest.warmup", "15s"),
+                duration("loadtest.duration", "60s"),
+                duration("loadtest.think-time", "0ms"),
+                parseMix(System.getProperty("loadtest.mix", "list:50,get:25,create:10,update:10,delete:4,login:1")),
+                System.getProperty("loadtest.password", "loadtest-password"),
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")),
+                System.getProperty("loadtest.label", "run"));
+    }
+
+    LoadTestConfig withBaseUrl(String baseUrl) {
+        return new LoadTestConfig(baseUrl, users, tasksPerUser, warmup, duration, thinkTime, mix, password, reportDir,
+                label);
+    }
+
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    // "list:50,get:25,..." -> weights; operations left out are not performed
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weight");
+        }
+        return weights;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
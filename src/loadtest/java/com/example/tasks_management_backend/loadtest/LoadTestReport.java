@@ -0,0 +1,109 @@
+package com.example.tasks_management_backend.loadtest;
+
+import com.example.tasks_management_backend.loadtest.LoadTestConfig.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Result of the measured phase. Written as <label>.json (one summary per operation plus the total, latencies
+// in milliseconds) for comparing runs, and as <label>-<operation>.hgrm percentile distributions that
+// HdrHistogram's plotter reads.
+record LoadTestReport(
+        String label,
+        Instant startedAt,
+        double durationSeconds,
+        Map<String, Object> settings,
+        Map<String, EndpointSummary> endpoints) {
+
+    static final String TOTAL = "total";
+
+    record EndpointSummary(
+            long requests,
+            long errors,
+            double throughputPerSecond,
+            double meanMs,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs) {
+
+        static EndpointSummary of(Histogram latencies, long errors, double durationSeconds) {
+            long requests = latencies.getTotalCount() + errors;
+            return new EndpointSummary(
+                    requests,
+                    errors,
+                    durationSeconds > 0 ? requests / durationSeconds : 0,
+                    millis(latencies.getMean()),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+
+    static LoadTestReport of(LoadTestConfig config, Instant startedAt, Duration elapsed,
+            Map<Operation, EndpointStats.Snapshot> snapshots) {
+        double seconds = elapsed.toNanos() / 1e9;
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, EndpointStats.Snapshot> entry : snapshots.entrySet()) {
+            EndpointStats.Snapshot snapshot = entry.getValue();
+            endpoints.put(entry.getKey().name().toLowerCase(),
+                    EndpointSummary.of(snapshot.latencies(), snapshot.errors(), seconds));
+            total.add(snapshot.latencies());
+            totalErrors += snapshot.errors();
+        }
+        endpoints.put(TOTAL, EndpointSummary.of(total, totalErrors, seconds));
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", config.embedded() ? "embedded" : config.baseUrl());
+        settings.put("users", config.users());
+        settings.put("tasksPerUser", config.tasksPerUser());
+        settings.put("warmup", config.warmup().toString());
+        settings.put("duration", config.duration().toString());
+        settings.put("thinkTime", config.thinkTime().toString());
+        settings.put("mix", config.mix());
+        return new LoadTestReport(config.label(), startedAt, seconds, settings, endpoints);
+    }
+
+    void write(Path reportDir, Map<Operation, EndpointStats.Snapshot> snapshots) throws IOException {
+        Files.createDirectories(reportDir);
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDir.resolve(label + ".json").toFile(), this);
+        for (Map.Entry<Operation, EndpointStats.Snapshot> entry : snapshots.entrySet()) {
+            Path file = reportDir.resolve(label + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Recorded in microseconds, reported in milliseconds
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nLoad test '%s': %.1fs measured, %s%n", label, durationSeconds, settings);
+        out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s",
+                "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, s) -> out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                s.requests(), s.errors(), s.throughputPerSecond(), s.meanMs(), s.p50Ms(), s.p90Ms(), s.p99Ms(),
+                s.p999Ms(), s.maxMs()));
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.tasks_management_backend.loadtest;
+
+import com.example.tasks_management_backend.dto.SubTaskRequest;
+import com.example.tasks_management_backend.dto.TaskRequest;
+import com.example.tasks_management_backend.loadtest.LoadTestConfig.Operation;
+import com.example.tasks_management_backend.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+// One simulated user working on their own tasks in a closed loop: pick an operation by weight, send it, wait for
+// the response, think, repeat. Latency is measured from send to fully read response.
+final class VirtualUser implements Runnable {
+
+    // HIGH priority and COMPLETED status are left out: both reach AWS (outbox relay, completion emails)
+    private static final Task.Priority[] PRIORITIES = {Task.Priority.LOW, Task.Priority.MEDIUM};
+    private static final Task.Status[] STATUSES = {Task.Status.PENDING, Task.Status.IN_PROGRESS};
+    private static final int PAGE_SIZE = 20;
+    private static final int MIN_OWN_TASKS = 10;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LoadTestConfig config;
+    private final String username;
+    private final Map<Operation, EndpointStats> stats;
+    private final BooleanSupplier running;
+    private final Random random;
+    private final Operation[] schedule;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    private String token;
+
+    VirtualUser(HttpClient httpClient, ObjectMapper objectMapper, LoadTestConfig config, int index,
+            Map<Operation, EndpointStats> stats, BooleanSupplier running) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.username = "loadtest-user-" + index;
+        this.stats = stats;
+        this.running = running;
+        this.random = new Random(index);
+        this.schedule = schedule(config.mix());
+    }
+
+    // Registers the user (if needed), logs in and creates the starting set of tasks through the batch API
+    void seed() throws IOException, InterruptedException {
+        String registration = objectMapper.writeValueAsString(Map.of(
+                "username", username, "password", config.password(), "email", username + "@example.com"));
+        // 400 means the user exists from an earlier run against the same server
+        send(post("/auth/register", registration, false));
+        login();
+
+        for (int created = 0; created < config.tasksPerUser(); created += SEED_BATCH_SIZE) {
+            List<TaskRequest> batch = new ArrayList<>();
+            for (int i = created; i < Math.min(config.tasksPerUser(), created + SEED_BATCH_SIZE); i++) {
+                batch.add(newTask("Seeded task " + i));
+            }
+            HttpResponse<byte[]> response = send(post("/api/tasks/batch", objectMapper.writeValueAsString(batch),
+                    true));
+            if (response.statusCode() != 201 && response.statusCode() != 207) {
+                throw new IllegalStateException("Seeding tasks for " + username + " failed with HTTP "
+                        + response.statusCode());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("data").path("items")) {
+                if (item.path("success").asBoolean()) {
+                    taskIds.add(item.path("id").asLong());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            Operation operation = next();
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = perform(operation);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (success) {
+                stats.get(operation).recordSuccess(elapsed);
+            } else {
+                stats.get(operation).recordError();
+            }
+            if (!config.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(config.thinkTime().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Operation next() {
+        Operation operation = schedule[random.nextInt(schedule.length)];
+        // Keep a working set: without own tasks there is nothing to read, update or delete
+        if (taskIds.isEmpty() && operation != Operation.LOGIN && operation != Operation.LIST) {
+            return Operation.CREATE;
+        }
+        if (operation == Operation.DELETE && taskIds.size() <= MIN_OWN_TASKS) {
+            return Operation.CREATE;
+        }
+        return operation;
+    }
+
+    private boolean perform(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case LOGIN -> {
+                return login();
+            }
+            case LIST -> {
+                int pages = Math.max(1, taskIds.size() / PAGE_SIZE);
+                String query = "?page=" + random.nextInt(pages) + "&size=" + PAGE_SIZE;
+                if (random.nextInt(4) == 0) {
+                    query += "&status=" + STATUSES[random.nextInt(STATUSES.length)];
+                }
+                return ok(send(get("/api/tasks" + query)));
+            }
+            case GET -> {
+                return ok(send(get("/api/tasks/" + randomTaskId())));
+            }
+            case CREATE -> {
+                HttpResponse<byte[]> response = send(post("/api/tasks",
+                        objectMapper.writeValueAsString(newTask("Task by " + username)), true));
+                if (!ok(response)) {
+                    return false;
+                }
+                taskIds.add(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+                return true;
+            }
+            case UPDATE -> {
+                TaskRequest update = newTask("Updated by " + username);
+                return ok(send(request("/api/tasks/" + randomTaskId(), true)
+                        .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(update)))
+                        .build()));
+            }
+            case DELETE -> {
+                Long id = taskIds.remove(random.nextInt(taskIds.size()));
+                return ok(send(request("/api/tasks/" + id, true).DELETE().build()));
+            }
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        String credentials = objectMapper.writeValueAsString(Map.of("username", username,
+                "password", config.password()));
+        HttpResponse<byte[]> response = send(post("/auth/login", credentials, false));
+        if (!ok(response)) {
+            return false;
+        }
+        token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+        return true;
+    }
+
+    private TaskRequest newTask(String title) {
+        LocalDate deadline = LocalDate.now().plusDays(1 + random.nextInt(90));
+        List<SubTaskRequest> subtasks = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            subtasks.add(new SubTaskRequest(null, "Step " + i, PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    deadline, Task.Status.PENDING));
+        }
+        return new TaskRequest(title, PRIORITIES[random.nextInt(PRIORITIES.length)], deadline,
+                STATUSES[random.nextInt(STATUSES.length)], subtasks);
+    }
+
+    private Long randomTaskId() {
+        return taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path, true).GET().build();
+    }
+
+    private HttpRequest post(String path, String json, boolean authenticated) {
+        return request(path, authenticated).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder request(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    // Operations repeated by weight, so picking one is a single random index
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+}
@@ -3,12 +3,18 @@ package com.example.tasks_management_backend.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.sns.SnsClient;
 
+import java.net.URI;
+
 @Configuration
 public class AwsConfig {
 
@@ -21,6 +27,10 @@ public class AwsConfig {
         @Value("${aws.region}")
         private String region;
 
+        // Set to reach an S3-compatible store (MinIO, LocalStack) instead of AWS
+        @Value("${aws.s3.endpoint:}")
+        private String s3Endpoint;
+
         @Bean
         public SesClient sesClient() {
                 return SesClient.builder()
@@ -41,10 +51,32 @@ public class AwsConfig {
 
         @Bean
         public software.amazon.awssdk.services.s3.S3Client s3Client() {
-                return software.amazon.awssdk.services.s3.S3Client.builder()
+                S3ClientBuilder builder = software.amazon.awssdk.services.s3.S3Client.builder()
                                 .region(Region.of(region))
                                 .credentialsProvider(StaticCredentialsProvider.create(
-                                                AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
-                                .build();
+                                                AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+                if (StringUtils.hasText(s3Endpoint)) {
+                        builder.endpointOverride(URI.create(s3Endpoint))
+                                        .serviceConfiguration(S3Configuration.builder()
+                                                        .pathStyleAccessEnabled(true)
+                                                        .build());
+                }
+                return builder.build();
+        }
+
+        // Signs attachment URLs locally; must point at the same store as the S3 client
+        @Bean
+        public S3Presigner s3Presigner() {
+                S3Presigner.Builder builder = S3Presigner.builder()
+                                .region(Region.of(region))
+                                .credentialsProvider(StaticCredentialsProvider.create(
+                                                AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+                if (StringUtils.hasText(s3Endpoint)) {
+                        builder.endpointOverride(URI.create(s3Endpoint))
+                                        .serviceConfiguration(S3Configuration.builder()
+                                                        .pathStyleAccessEnabled(true)
+                                                        .build());
+                }
+                return builder.build();
         }
 }
@@ -1,24 +1,50 @@
 package com.example.tasks_management_backend.config;
 
+import com.example.tasks_management_backend.service.UserCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Configuration
 public class CacheConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    public static final String TASKS_CACHE = "tasks";
+    public static final String TASK_COUNTS_CACHE = "taskCounts";
+
+    // Caches created up front; each one can be sized with app.cache.specs.<name>
+    private static final List<String> CACHE_NAMES = List.of(TASKS_CACHE, TASK_COUNTS_CACHE, UserCache.CACHE_NAME);
+
+    @Value("${app.cache.default-spec:maximumSize=100,expireAfterWrite=10m}")
+    private String defaultSpec;
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("tasks");
-        cacheManager.setCaffeine(
-                Caffeine.newBuilder()
-                        .expireAfterWrite(10, TimeUnit.MINUTES)
-                        .maximumSize(100)
-        );
+    public CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches requested at runtime under other names still get the default spec with stats
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+
+        for (String name : CACHE_NAMES) {
+            String spec = environment.getProperty("app.cache.specs." + name, defaultSpec);
+            cacheManager.registerCustomCache(name,
+                    Caffeine.from(spec)
+                            .recordStats()
+                            .removalListener((key, value, cause) -> meterRegistry
+                                    .counter(CacheStatsEndpoint.REMOVALS_METER, "cache", name, "cause", cause.name())
+                                    .increment())
+                            .build());
+            logger.info("Configured cache '{}' with spec '{}'", name, spec);
+        }
         return cacheManager;
     }
 }
@@ -0,0 +1,91 @@
+package com.example.tasks_management_backend.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Exposes Caffeine statistics for every cache at /actuator/cachestats. Hit/miss/eviction/load
+// meters are also bound to Micrometer by Spring Boot's cache metrics auto-configuration.
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    public static final String REMOVALS_METER = "cache.removals";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatsEndpoint.class);
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public CacheStatsEndpoint(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, CacheStatsView> cacheStats() {
+        Map<String, CacheStatsView> result = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                result.put(name, new CacheStatsView(
+                        stats.requestCount(),
+                        stats.hitRate(),
+                        stats.missRate(),
+                        stats.evictionCount(),
+                        removalsByCause(name),
+                        stats.loadCount(),
+                        stats.averageLoadPenalty() / 1_000_000.0,
+                        caffeineCache.getNativeCache().estimatedSize()));
+            }
+        }
+        return result;
+    }
+
+    // Periodically report hit ratios so cache changes can be measured against a baseline
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-interval-ms:300000}")
+    public void logCacheStats() {
+        cacheStats().forEach((name, stats) -> {
+            if (stats.requests() > 0) {
+                logger.info("Cache '{}' hitRatio={} requests={} evictions={} avgLoadMs={} size={}",
+                        name,
+                        String.format("%.3f", stats.hitRate()),
+                        stats.requests(),
+                        stats.evictions(),
+                        String.format("%.2f", stats.averageLoadMillis()),
+                        stats.estimatedSize());
+            }
+        });
+    }
+
+    private Map<String, Long> removalsByCause(String cacheName) {
+        Map<String, Long> byCause = new LinkedHashMap<>();
+        for (Counter counter : meterRegistry.find(REMOVALS_METER).tag("cache", cacheName).counters()) {
+            byCause.put(counter.getId().getTag("cause"), (long) counter.count());
+        }
+        return byCause;
+    }
+
+    public record CacheStatsView(
+            long requests,
+            double hitRate,
+            double missRate,
+            long evictions,
+            Map<String, Long> removalsByCause,
+            long loads,
+            double averageLoadMillis,
+            long estimatedSize) {
+    }
+}
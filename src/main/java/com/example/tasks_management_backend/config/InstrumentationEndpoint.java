@@ -0,0 +1,58 @@
+package com.example.tasks_management_backend.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Runtime switches for MethodTimingAspect at /actuator/instrumentation:
+//   POST   /actuator/instrumentation             {"logSampleRate": 0.05}
+//   POST   /actuator/instrumentation/{package}   {"enabled": false}
+//   DELETE /actuator/instrumentation/{package}   back to the default (timed)
+@Component
+@Endpoint(id = "instrumentation")
+public class InstrumentationEndpoint {
+
+    private final MethodTimingAspect methodTimingAspect;
+
+    public InstrumentationEndpoint(MethodTimingAspect methodTimingAspect) {
+        this.methodTimingAspect = methodTimingAspect;
+    }
+
+    @ReadOperation
+    public InstrumentationView instrumentation() {
+        return new InstrumentationView(methodTimingAspect.getLogSampleRate(), methodTimingAspect.getPackageStates(),
+                methodTimingAspect.getMethodStates());
+    }
+
+    @WriteOperation
+    public InstrumentationView configure(@Nullable Double logSampleRate) {
+        if (logSampleRate != null) {
+            methodTimingAspect.setLogSampleRate(logSampleRate);
+        }
+        return instrumentation();
+    }
+
+    @WriteOperation
+    public InstrumentationView setPackage(@Selector String packageName, boolean enabled) {
+        methodTimingAspect.setPackageEnabled(packageName, enabled);
+        return instrumentation();
+    }
+
+    @DeleteOperation
+    public InstrumentationView resetPackage(@Selector String packageName) {
+        methodTimingAspect.resetPackage(packageName);
+        return instrumentation();
+    }
+
+    public record InstrumentationView(
+            double logSampleRate,
+            Map<String, Boolean> packages,
+            Map<String, Boolean> methods) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.tasks_management_backend.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -8,9 +9,19 @@ import org.springframework.kafka.config.TopicBuilder;
 @Configuration
 public class KafkaTopicConfig {
 
+    // Events are keyed by task id, so per-task ordering holds across partitions
     @Bean
-    public NewTopic taskCreatedTopic() {
-        return TopicBuilder.name("task-created")
+    public NewTopic taskEventsTopic(@Value("${app.events.topic}") String topic,
+            @Value("${app.events.partitions:6}") int partitions) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic cacheInvalidationTopic(@Value("${app.cache.invalidation.topic}") String topic) {
+        return TopicBuilder.name(topic)
                 .partitions(1)
                 .replicas(1)
                 .build();
@@ -0,0 +1,271 @@
+package com.example.tasks_management_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Times every controller, service and repository call into the app.method timer (tagged by layer, class, method
+// and exception) and logs a sample of the successful calls with their arguments and result summarised. Every
+// failure is logged, without arguments. Timing can be switched off per package at runtime through
+// /actuator/instrumentation.
+@Aspect
+@Component
+public class MethodTimingAspect {
+
+    public static final String TIMER = "app.method";
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodTimingAspect.class);
+
+    private static final String BASE_PACKAGE = "com.example.tasks_management_backend.";
+    private static final int MAX_STRING_LENGTH = 32;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean publishHistogram;
+    private final Map<MethodKey, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    // Package name -> enabled; the longest matching prefix decides, unlisted packages are timed
+    private final Map<String, Boolean> packageStates = new ConcurrentHashMap<>();
+    private volatile double logSampleRate;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry,
+            @Value("${app.instrumentation.log-sample-rate:0.01}") double logSampleRate,
+            @Value("${app.instrumentation.histogram:true}") boolean publishHistogram,
+            @Value("${app.instrumentation.disabled-packages:}") List<String> disabledPackages) {
+        this.meterRegistry = meterRegistry;
+        this.publishHistogram = publishHistogram;
+        setLogSampleRate(logSampleRate);
+        for (String packageName : disabledPackages) {
+            if (!packageName.isBlank()) {
+                packageStates.put(packageName.trim(), false);
+            }
+        }
+    }
+
+    @Pointcut("(execution(* com.example.tasks_management_backend.controller..*(..)) || " +
+            "execution(* com.example.tasks_management_backend.service..*(..)) || " +
+            "execution(* com.example.tasks_management_backend.repository..*(..))) && " +
+            "!execution(* com.example.tasks_management_backend.service.JwtAuthenticationFilter.*(..))")
+    public void applicationPackagePointcut() {
+    }
+
+    @Around("applicationPackagePointcut()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Repository proxies share one target class, so the proxy class tells them apart
+        Object self = joinPoint.getThis() != null ? joinPoint.getThis() : joinPoint.getTarget();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimer timer = timers.computeIfAbsent(new MethodKey(self.getClass(), method),
+                key -> new MethodTimer(componentType(self, method), method.getName()));
+        if (!timer.enabled) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (sampled()) {
+                logger.info("{} took {}us args={} returned {}", timer.name,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        summarize(joinPoint.getArgs()), summarize(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            timer.failure(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.warn("{} threw {}: {}", timer.name, e.getClass().getName(), e.getMessage());
+            throw e;
+        }
+    }
+
+    public double getLogSampleRate() {
+        return logSampleRate;
+    }
+
+    public void setLogSampleRate(double logSampleRate) {
+        if (logSampleRate < 0 || logSampleRate > 1) {
+            throw new IllegalArgumentException("Log sample rate must be between 0 and 1");
+        }
+        this.logSampleRate = logSampleRate;
+    }
+
+    public Map<String, Boolean> getPackageStates() {
+        return new TreeMap<>(packageStates);
+    }
+
+    public void setPackageEnabled(String packageName, boolean enabled) {
+        packageStates.put(packageName, enabled);
+        refreshTimers();
+    }
+
+    public void resetPackage(String packageName) {
+        packageStates.remove(packageName);
+        refreshTimers();
+    }
+
+    // Per method: timed or not, by package
+    public Map<String, Boolean> getMethodStates() {
+        Map<String, Boolean> states = new TreeMap<>();
+        timers.values().forEach(timer -> states.put(timer.name, timer.enabled));
+        return states;
+    }
+
+    boolean isEnabled(String className) {
+        String bestMatch = null;
+        for (String packageName : packageStates.keySet()) {
+            if ((className.startsWith(packageName + ".") || className.equals(packageName))
+                    && (bestMatch == null || packageName.length() > bestMatch.length())) {
+                bestMatch = packageName;
+            }
+        }
+        return bestMatch == null || packageStates.getOrDefault(bestMatch, true);
+    }
+
+    private void refreshTimers() {
+        timers.values().forEach(timer -> timer.enabled = isEnabled(timer.type.getName()));
+    }
+
+    private boolean sampled() {
+        double rate = logSampleRate;
+        return rate > 0 && logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    // The application type the call belongs to: the bean class, or for repositories the interface the proxy
+    // implements
+    private static Class<?> componentType(Object self, Method method) {
+        Class<?> type = ClassUtils.getUserClass(self);
+        if (type.getName().startsWith(BASE_PACKAGE)) {
+            return type;
+        }
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (candidate.getName().startsWith(BASE_PACKAGE)) {
+                return candidate;
+            }
+        }
+        return method.getDeclaringClass();
+    }
+
+    private static String layer(Class<?> type) {
+        String name = type.getName();
+        if (name.startsWith(BASE_PACKAGE)) {
+            String rest = name.substring(BASE_PACKAGE.length());
+            int dot = rest.indexOf('.');
+            if (dot > 0) {
+                return rest.substring(0, dot);
+            }
+        }
+        return "other";
+    }
+
+    static String summarize(Object[] args) {
+        StringBuilder summary = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(summarize(args[i]));
+        }
+        return summary.append(']').toString();
+    }
+
+    // Never renders entities or DTOs (they carry passwords, tokens and lazy associations): values are shown,
+    // containers by size only, and anything else by type
+    static String summarize(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                || value instanceof UUID || value instanceof Temporal) {
+            return value.toString();
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() <= MAX_STRING_LENGTH
+                    ? "\"" + text + "\""
+                    : "\"" + text.subSequence(0, MAX_STRING_LENGTH) + "...\"(" + text.length() + " chars)";
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.map(content -> "Optional[" + summarize(content) + "]").orElse("Optional.empty");
+        }
+        if (!Hibernate.isInitialized(value)) {
+            return ClassUtils.getUserClass(value).getSimpleName() + "(uninitialized)";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "[size=" + map.size() + "]";
+        }
+        if (value instanceof Slice<?> slice) {
+            return value.getClass().getSimpleName() + "[size=" + slice.getNumberOfElements() + "]";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof MultipartFile file) {
+            return "MultipartFile[" + file.getOriginalFilename() + ", " + file.getSize() + " bytes]";
+        }
+        return ClassUtils.getUserClass(value).getSimpleName();
+    }
+
+    private record MethodKey(Class<?> type, Method method) {
+    }
+
+    private final class MethodTimer {
+
+        final Class<?> type;
+        final String name;
+        final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+        volatile boolean enabled;
+
+        MethodTimer(Class<?> type, String methodName) {
+            this.type = type;
+            this.name = type.getSimpleName() + "." + methodName;
+            this.success = timer("none");
+            this.enabled = isEnabled(type.getName());
+        }
+
+        Timer failure(Throwable e) {
+            return failures.computeIfAbsent(e.getClass(), exception -> timer(exception.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            Timer.Builder builder = Timer.builder(TIMER)
+                    .description("Latency of controller, service and repository methods")
+                    .tag("layer", layer(type))
+                    .tag("class", type.getSimpleName())
+                    .tag("method", name.substring(name.indexOf('.') + 1))
+                    .tag("exception", exception);
+            if (publishHistogram) {
+                builder.publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(30));
+            }
+            return builder.register(meterRegistry);
+        }
+    }
+}
@@ -1,21 +1,42 @@
 package com.example.tasks_management_backend.controller;
 
 import com.example.tasks_management_backend.dto.ApiResponse;
+import com.example.tasks_management_backend.dto.AttachmentCompleteRequest;
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import com.example.tasks_management_backend.dto.AttachmentUploadRequest;
+import com.example.tasks_management_backend.dto.BatchResult;
+import com.example.tasks_management_backend.dto.BulkUpdateResult;
+import com.example.tasks_management_backend.dto.CursorPage;
+import com.example.tasks_management_backend.dto.PresignedUrl;
+import com.example.tasks_management_backend.dto.SlicePage;
 import com.example.tasks_management_backend.dto.SubTaskRequest;
+import com.example.tasks_management_backend.dto.TaskBulkUpdateRequest;
+import com.example.tasks_management_backend.dto.TaskListMode;
 import com.example.tasks_management_backend.dto.TaskRequest;
+import com.example.tasks_management_backend.dto.TaskStats;
+import com.example.tasks_management_backend.dto.TaskView;
 import com.example.tasks_management_backend.model.SubTask;
 import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.service.TaskBatchService;
 import com.example.tasks_management_backend.service.TaskService;
+import com.example.tasks_management_backend.service.TaskStatsService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,17 +48,46 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<Task>>> getTasks(
+    public ResponseEntity<ApiResponse<?>> getTasks(
             @RequestParam(required = false) Task.Priority priority,
             @RequestParam(required = false) Task.Status status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineBefore,
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false, defaultValue = "asc") String direction,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "10") int size) {
-        Page<Task> tasksPage = taskService.getTasks(priority, status, deadlineBefore, sortBy, direction, page, size);
-        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Tasks retrieved successfully", tasksPage));
+            @RequestParam(required = false, defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "PAGE") TaskListMode mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        try {
+            if (mode == TaskListMode.SLICE) {
+                Slice<TaskView> slice = taskService.getTaskViewSlice(priority, status, deadlineBefore, sortBy,
+                        direction, page, size);
+                Long total = includeTotal ? taskService.countTasks(priority, status, deadlineBefore) : null;
+                SlicePage<TaskView> tasks = new SlicePage<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                        slice.hasNext(), total);
+                return ResponseEntity.ok(new ApiResponse<>(true, 200, "Tasks retrieved successfully", tasks));
+            }
+            if (mode == TaskListMode.CURSOR) {
+                CursorPage<TaskView> tasks = taskService.getTaskViewsAfter(priority, status, deadlineBefore, sortBy,
+                        direction, cursor, size);
+                return ResponseEntity.ok(new ApiResponse<>(true, 200, "Tasks retrieved successfully", tasks));
+            }
+            Page<TaskView> tasksPage = taskService.getTaskViews(priority, status, deadlineBefore, sortBy, direction,
+                    page, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Tasks retrieved successfully", tasksPage));
+        } catch (IllegalArgumentException e) {
+            // Unsupported sortBy or direction, or a malformed cursor
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
     }
 
     @PostMapping
@@ -65,6 +115,33 @@ public class TaskController {
                 .body(new ApiResponse<>(true, 201, "Task created successfully", saved));
     }
 
+    // Items are validated individually, so one bad item does not reject the whole batch
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> createTasks(@RequestBody List<TaskRequest> taskRequests) {
+        try {
+            return batchResponse(taskBatchService.createTasks(taskRequests), "Tasks");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> updateTasks(@RequestBody TaskBulkUpdateRequest request) {
+        try {
+            BulkUpdateResult result = new BulkUpdateResult(taskService.updateTasks(request));
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Tasks updated successfully", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+    }
+
+    // Served from the event-fed read model, which may trail the latest writes briefly
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<TaskStats>> getStats() {
+        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Task statistics retrieved successfully",
+                taskStatsService.getCurrentUserStats()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Task>> getTask(@PathVariable Long id) {
         Task task = taskService.getTask(id);
@@ -129,6 +206,93 @@ public class TaskController {
         }
     }
 
+    // Raw request body instead of multipart/form-data: the file is streamed to S3 as it arrives rather than
+    // being buffered by the multipart resolver, so it is not bound by the multipart size limits
+    @PutMapping("/{id}/attachment")
+    public ResponseEntity<ApiResponse<AttachmentUpload>> streamAttachment(@PathVariable Long id,
+            @RequestParam String filename, HttpServletRequest request) {
+        try {
+            AttachmentUpload upload = taskService.streamAttachment(id, request.getInputStream(), filename,
+                    request.getContentType(), request.getContentLengthLong());
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Attachment uploaded successfully", upload));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, 404, "Task not found", null));
+        } catch (MaxUploadSizeExceededException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new ApiResponse<>(false, 413, "Attachment exceeds the maximum size of "
+                            + e.getMaxUploadSize() + " bytes", null));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, "Attachment upload was interrupted", null));
+        }
+    }
+
+    // Direct-to-storage uploads: the client PUTs the file to the returned URL and then calls /complete, so the
+    // bytes never pass through this server
+    @PostMapping("/{id}/attachment/upload-url")
+    public ResponseEntity<ApiResponse<PresignedUrl>> createAttachmentUpload(@PathVariable Long id,
+            @RequestBody AttachmentUploadRequest request) {
+        try {
+            PresignedUrl upload = taskService.createAttachmentUpload(id, request);
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Upload URL created successfully", upload));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, 404, "Task not found", null));
+        } catch (MaxUploadSizeExceededException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new ApiResponse<>(false, 413, "Attachment exceeds the maximum size of "
+                            + e.getMaxUploadSize() + " bytes", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(new ApiResponse<>(false, e.getStatusCode().value(), e.getReason(), null));
+        }
+    }
+
+    @PostMapping("/{id}/attachment/complete")
+    public ResponseEntity<ApiResponse<Task>> completeAttachmentUpload(@PathVariable Long id,
+            @RequestBody AttachmentCompleteRequest request) {
+        try {
+            Task updatedTask = taskService.completeAttachmentUpload(id, request.key());
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Attachment uploaded successfully", updatedTask));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, 404, "Task not found", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/{id}/attachment/download-url")
+    public ResponseEntity<ApiResponse<PresignedUrl>> createAttachmentDownload(@PathVariable Long id) {
+        try {
+            PresignedUrl download = taskService.createAttachmentDownload(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Download URL created successfully", download));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, 404, e.getMessage(), null));
+        }
+    }
+
+    // Local storage is served from disk here with Range and ETag support; for S3 this redirects to a
+    // presigned URL, so either way the client can always fetch the attachment from this one address
+    @GetMapping("/{id}/attachment/content")
+    public void downloadAttachment(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try {
+            Path file = taskService.getAttachmentFile(id);
+            if (file == null) {
+                response.sendRedirect(taskService.createAttachmentDownload(id).url());
+                return;
+            }
+            FileDownloadWriter.write(file, request, response);
+        } catch (EntityNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        }
+    }
+
     @PostMapping("/{taskId}/subtasks")
     public ResponseEntity<ApiResponse<SubTask>> createSubTask(@PathVariable Long taskId,
             @Valid @RequestBody SubTaskRequest subTaskRequest) {
@@ -148,6 +312,32 @@ public class TaskController {
                 .body(new ApiResponse<>(true, 201, "SubTask created successfully", created));
     }
 
+    @PostMapping("/{taskId}/subtasks/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> createSubTasks(@PathVariable Long taskId,
+            @RequestBody List<SubTaskRequest> subTaskRequests) {
+        try {
+            return batchResponse(taskBatchService.createSubTasks(taskId, subTaskRequests), "SubTasks");
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, 404, "Task not found", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<BatchResult>> batchResponse(BatchResult result, String items) {
+        if (result.failed() == 0) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, 201, items + " created successfully", result));
+        }
+        if (result.created() == 0) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, 400, "No " + items.toLowerCase() + " were created", result));
+        }
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS)
+                .body(new ApiResponse<>(true, 207, items + " partially created", result));
+    }
+
     @GetMapping("/{taskId}/subtasks")
     public ResponseEntity<ApiResponse<List<SubTask>>> getSubtasksForTask(@PathVariable Long taskId) {
         List<SubTask> subTasks = taskService.getSubTasksByTaskId(taskId);
@@ -0,0 +1,5 @@
+package com.example.tasks_management_backend.dto;
+
+// Sent by the client once its presigned upload has finished, with the key it was issued
+public record AttachmentCompleteRequest(String key) {
+}
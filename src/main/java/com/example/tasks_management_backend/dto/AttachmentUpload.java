@@ -0,0 +1,11 @@
+package com.example.tasks_management_backend.dto;
+
+// Outcome of a streamed attachment upload; parts is 1 when the file was small enough for a single PUT
+public record AttachmentUpload(
+        String key,
+        String url,
+        long bytes,
+        int parts,
+        long durationMillis,
+        double megabytesPerSecond) {
+}
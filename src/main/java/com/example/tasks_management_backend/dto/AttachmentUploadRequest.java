@@ -0,0 +1,8 @@
+package com.example.tasks_management_backend.dto;
+
+// Declares the file a client is about to upload straight to storage; size and content type are signed into the URL
+public record AttachmentUploadRequest(
+        String filename,
+        String contentType,
+        Long size) {
+}
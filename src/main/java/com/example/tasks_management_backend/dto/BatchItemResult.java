@@ -0,0 +1,22 @@
+package com.example.tasks_management_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+// Outcome of one item of a batch request, reported at its position in the request
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(
+        int index,
+        boolean success,
+        Long id,
+        Map<String, String> errors) {
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, true, id, null);
+    }
+
+    public static BatchItemResult failed(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, false, null, errors);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.tasks_management_backend.dto;
+
+import java.util.List;
+
+public record BatchResult(
+        int requested,
+        int created,
+        int failed,
+        List<BatchItemResult> items) {
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int created = (int) items.stream().filter(BatchItemResult::success).count();
+        return new BatchResult(items.size(), created, items.size() - created, items);
+    }
+}
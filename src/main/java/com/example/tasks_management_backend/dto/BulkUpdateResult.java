@@ -0,0 +1,5 @@
+package com.example.tasks_management_backend.dto;
+
+public record BulkUpdateResult(
+        int updated) {
+}
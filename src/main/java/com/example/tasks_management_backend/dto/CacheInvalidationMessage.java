@@ -0,0 +1,9 @@
+package com.example.tasks_management_backend.dto;
+
+// Compact cross-node invalidation: either every entry of one user (userId) or a single key
+public record CacheInvalidationMessage(
+        String origin,
+        String cache,
+        Long userId,
+        String key) {
+}
@@ -0,0 +1,10 @@
+package com.example.tasks_management_backend.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
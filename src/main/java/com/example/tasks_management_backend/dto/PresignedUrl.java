@@ -0,0 +1,17 @@
+package com.example.tasks_management_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Map;
+
+// A short-lived URL for talking to storage directly. Uploads must send the listed headers unchanged, as they
+// are part of the signature.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PresignedUrl(
+        String key,
+        String method,
+        String url,
+        Map<String, String> headers,
+        Instant expiresAt) {
+}
@@ -0,0 +1,11 @@
+package com.example.tasks_management_backend.dto;
+
+import java.util.List;
+
+public record SlicePage<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext,
+        Long approximateTotal) {
+}
@@ -0,0 +1,16 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+public record SubTaskView(
+        Long id,
+        String title,
+        Task.Priority priority,
+        LocalDate deadline,
+        Task.Status status,
+        Integer version,
+        @JsonIgnore Long taskId) {
+}
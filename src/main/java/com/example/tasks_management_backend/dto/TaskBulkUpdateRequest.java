@@ -0,0 +1,13 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.util.List;
+
+// Targets either explicit ids or a filter, and sets the status, the priority or both
+public record TaskBulkUpdateRequest(
+        List<Long> ids,
+        TaskFilter filter,
+        Task.Status status,
+        Task.Priority priority) {
+}
@@ -0,0 +1,15 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+
+// What the reminder sweep needs to know about a task it completes, read without loading the entity
+public record TaskCompletion(
+        Long id,
+        String title,
+        Long userId,
+        Task.Priority priority,
+        LocalDate deadline,
+        Integer version) {
+}
@@ -0,0 +1,65 @@
+package com.example.tasks_management_backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+// Position after the last row of a keyset page: the sort it was produced with, that row's sort
+// value (null when that row had no value for the sort field) and its id as the tiebreaker.
+public record TaskCursor(
+        String sortBy,
+        String direction,
+        String value,
+        Long id) {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    public static TaskCursor decode(String encoded) {
+        try {
+            TaskCursor cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(encoded), TaskCursor.class);
+            if (cursor.sortBy() == null || cursor.direction() == null || cursor.id() == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return cursor;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Converts the stored value back to the type of the sorted attribute; a value that does not parse as that
+    // type can only come from a tampered cursor
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Comparable<Object> typedValue(Class<?> javaType) {
+        if (value == null) {
+            return null;
+        }
+        Object typed;
+        try {
+            if (javaType == LocalDate.class) {
+                typed = LocalDate.parse(value);
+            } else if (javaType == Long.class) {
+                typed = Long.valueOf(value);
+            } else if (javaType == Integer.class) {
+                typed = Integer.valueOf(value);
+            } else if (javaType.isEnum()) {
+                typed = Enum.valueOf((Class<Enum>) javaType, value);
+            } else {
+                typed = value;
+            }
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        return (Comparable<Object>) typed;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+// Compact task lifecycle event: the task's state after the change rather than a diff, so consumers can keep
+// only the latest event per task. The version orders events for the same task; the title is left out.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEvent(
+        Type type,
+        Long taskId,
+        Long userId,
+        Task.Status status,
+        Task.Priority priority,
+        LocalDate deadline,
+        Integer version,
+        long occurredAt) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TaskEvent of(Type type, Task task) {
+        return new TaskEvent(type, task.getId(), task.getUser() != null ? task.getUser().getId() : null,
+                task.getStatus(), task.getPriority(), task.getDeadline(), task.getVersion(),
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+
+// The list filters of GET /api/tasks, for requests that target tasks by filter instead of by id
+public record TaskFilter(
+        Task.Priority priority,
+        Task.Status status,
+        LocalDate deadlineBefore) {
+}
@@ -0,0 +1,10 @@
+package com.example.tasks_management_backend.dto;
+
+public enum TaskListMode {
+    // Offset pagination with total counts (default)
+    PAGE,
+    // Offset pagination without the count query; totals only on request, from a cache
+    SLICE,
+    // Keyset pagination driven by an opaque cursor
+    CURSOR
+}
@@ -0,0 +1,15 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Dashboard statistics of one user; overdue and nextDeadline only count tasks that are not completed or cancelled
+public record TaskStats(
+        long total,
+        Map<Task.Status, Long> byStatus,
+        Map<Task.Priority, Long> byPriority,
+        long overdue,
+        LocalDate nextDeadline) {
+}
@@ -0,0 +1,19 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Read model for task listings; serializes to the same JSON shape as the Task entity
+public record TaskView(
+        Long id,
+        String title,
+        Task.Priority priority,
+        String attachmentUrl,
+        LocalDate deadline,
+        Task.Status status,
+        Integer version,
+        List<SubTaskView> subtasks,
+        UserView user) {
+}
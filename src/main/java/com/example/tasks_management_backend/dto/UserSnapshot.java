@@ -0,0 +1,31 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.User;
+
+import java.util.Set;
+
+// Immutable copy of a user as kept in the shared "users" cache: safe to hand to every thread, unlike the
+// detached entity with its Hibernate-managed role set
+public record UserSnapshot(
+        Long id,
+        String username,
+        String email,
+        String passwordHash,
+        Set<Role> roles) {
+
+    public UserSnapshot {
+        roles = Set.copyOf(roles);
+    }
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getRoles());
+    }
+
+    // Keeps the password hash out of logs
+    @Override
+    public String toString() {
+        return "UserSnapshot[id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tasks_management_backend.dto;
+
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.User;
+
+import java.util.Set;
+
+public record UserView(
+        Long id,
+        String username,
+        String email,
+        Set<Role> roles) {
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getEmail(), Set.copyOf(user.getRoles()));
+    }
+
+    public static UserView from(UserSnapshot user) {
+        return new UserView(user.id(), user.username(), user.email(), user.roles());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.tasks_management_backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// A task event waiting to be published to SNS. Rows are written in the transaction that changes the task
+// and deleted by the relay once SNS has accepted them.
+@Entity
+@Table(name = "task_outbox", indexes = {
+        @Index(name = "idx_task_outbox_next_attempt", columnList = "next_attempt_at, id"),
+        @Index(name = "idx_task_outbox_aggregate", columnList = "aggregate_id, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // The task the event is about; events of one task are published in id order
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, length = 100)
+    private String subject;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private int attempts;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(Long aggregateId, String eventType, String subject, String payload, Instant createdAt) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.subject = subject;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -10,11 +10,14 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "subtasks")
+@Table(name = "subtasks", indexes = {
+        @Index(name = "idx_subtasks_task", columnList = "task_id, id")
+})
 public class SubTask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subtasks_seq")
+    @SequenceGenerator(name = "subtasks_seq", sequenceName = "subtasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
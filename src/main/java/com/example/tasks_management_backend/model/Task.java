@@ -12,10 +12,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+// Owner-scoped indexes end in id so each whitelisted sort (owner, field, id) can be read in index
+// order; the status indexes serve the reminder lookups and sweep, which are not owner-scoped
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_user_deadline", columnList = "user_id, deadline, id"),
+        @Index(name = "idx_tasks_user_status", columnList = "user_id, status, id"),
+        @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority, id"),
+        @Index(name = "idx_tasks_user_title", columnList = "user_id, title, id"),
+        @Index(name = "idx_tasks_status_deadline", columnList = "status, deadline"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id")
+})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns rule out
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "title is mandatory")
@@ -0,0 +1,100 @@
+package com.example.tasks_management_backend.model;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Latest state of one task as seen through its lifecycle events, kept for the statistics read model. The task
+// version decides which event is newer, so replayed and reordered events are ignored. Deleted tasks stay as
+// tombstones so a late event cannot bring them back.
+@Entity
+@Table(name = "task_projection", indexes = {
+        @Index(name = "idx_task_projection_user_deadline", columnList = "user_id, deadline")
+})
+public class TaskProjection {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private Task.Status status;
+
+    @Enumerated(EnumType.STRING)
+    private Task.Priority priority;
+
+    private LocalDate deadline;
+
+    @Column(name = "task_version", nullable = false)
+    private int taskVersion;
+
+    private boolean deleted;
+
+    // Guards against two writers of the same task racing; unrelated to the task's own version
+    @Version
+    private Integer revision;
+
+    protected TaskProjection() {
+    }
+
+    public static TaskProjection of(TaskEvent event) {
+        TaskProjection projection = new TaskProjection();
+        projection.taskId = event.taskId();
+        projection.apply(event);
+        return projection;
+    }
+
+    public boolean isOlderThan(TaskEvent event) {
+        if (deleted) {
+            return false;
+        }
+        int version = versionOf(event);
+        // A delete does not bump the version, so it wins over the last update it follows
+        return version > taskVersion || (version == taskVersion && event.type() == TaskEvent.Type.DELETED);
+    }
+
+    public void apply(TaskEvent event) {
+        userId = event.userId();
+        status = event.status();
+        priority = event.priority();
+        deadline = event.deadline();
+        taskVersion = versionOf(event);
+        deleted = event.type() == TaskEvent.Type.DELETED;
+    }
+
+    private static int versionOf(TaskEvent event) {
+        return event.version() != null ? event.version() : 0;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Task.Status getStatus() {
+        return status;
+    }
+
+    public Task.Priority getPriority() {
+        return priority;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public int getTaskVersion() {
+        return taskVersion;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.tasks_management_backend.model;
+
+import jakarta.persistence.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Per-user task counts maintained from task lifecycle events. An instance that is not loaded from the database
+// doubles as the change to add to a user's row (see UserTaskStatsRepository.addCounts).
+@Entity
+@Table(name = "user_task_stats")
+public class UserTaskStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private long total;
+
+    private long pending;
+
+    @Column(name = "in_progress")
+    private long inProgress;
+
+    private long completed;
+
+    private long cancelled;
+
+    @Column(name = "low_priority")
+    private long lowPriority;
+
+    @Column(name = "medium_priority")
+    private long mediumPriority;
+
+    @Column(name = "high_priority")
+    private long highPriority;
+
+    // Null until the row exists, so save() always INSERTs: of two batches creating the same user's row, one
+    // fails on the key and is retried rather than merged over the other's counts
+    @Version
+    private Integer revision;
+
+    protected UserTaskStats() {
+    }
+
+    public UserTaskStats(Long userId) {
+        this.userId = userId;
+    }
+
+    // Adds (delta 1) or removes (delta -1) one task in the given state
+    public void count(Task.Status status, Task.Priority priority, int delta) {
+        total += delta;
+        if (status != null) {
+            switch (status) {
+                case PENDING -> pending += delta;
+                case IN_PROGRESS -> inProgress += delta;
+                case COMPLETED -> completed += delta;
+                case CANCELLED -> cancelled += delta;
+            }
+        }
+        if (priority != null) {
+            switch (priority) {
+                case LOW -> lowPriority += delta;
+                case MEDIUM -> mediumPriority += delta;
+                case HIGH -> highPriority += delta;
+            }
+        }
+    }
+
+    public Map<Task.Status, Long> byStatus() {
+        Map<Task.Status, Long> counts = new EnumMap<>(Task.Status.class);
+        counts.put(Task.Status.PENDING, pending);
+        counts.put(Task.Status.IN_PROGRESS, inProgress);
+        counts.put(Task.Status.COMPLETED, completed);
+        counts.put(Task.Status.CANCELLED, cancelled);
+        return counts;
+    }
+
+    public Map<Task.Priority, Long> byPriority() {
+        Map<Task.Priority, Long> counts = new EnumMap<>(Task.Priority.class);
+        counts.put(Task.Priority.LOW, lowPriority);
+        counts.put(Task.Priority.MEDIUM, mediumPriority);
+        counts.put(Task.Priority.HIGH, highPriority);
+        return counts;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public long getLowPriority() {
+        return lowPriority;
+    }
+
+    public long getMediumPriority() {
+        return mediumPriority;
+    }
+
+    public long getHighPriority() {
+        return highPriority;
+    }
+}
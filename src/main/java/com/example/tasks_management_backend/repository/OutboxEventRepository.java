@@ -0,0 +1,29 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Due events that are the oldest remaining event of their task, so a task's events leave in order even
+    // when an earlier one is waiting out a retry
+    @Query("SELECT e FROM OutboxEvent e WHERE e.nextAttemptAt <= :now AND NOT EXISTS ("
+            + "SELECT 1 FROM OutboxEvent p WHERE p.aggregateId = e.aggregateId AND p.id < e.id) ORDER BY e.id")
+    List<OutboxEvent> findPublishable(@Param("now") Instant now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt "
+            + "WHERE e.id IN :ids")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e")
+    Instant findOldestCreatedAt();
+}
@@ -0,0 +1,24 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.TaskProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface TaskProjectionRepository extends JpaRepository<TaskProjection, Long> {
+
+    // Both deadline lookups are a range read on idx_task_projection_user_deadline
+    @Query("SELECT COUNT(p) FROM TaskProjection p WHERE p.userId = :userId AND p.deadline < :today "
+            + "AND p.deleted = false AND p.status NOT IN :closed")
+    long countOverdue(@Param("userId") Long userId, @Param("today") LocalDate today,
+            @Param("closed") Collection<Task.Status> closed);
+
+    @Query("SELECT MIN(p.deadline) FROM TaskProjection p WHERE p.userId = :userId AND p.deadline >= :today "
+            + "AND p.deleted = false AND p.status NOT IN :closed")
+    LocalDate findNextDeadline(@Param("userId") Long userId, @Param("today") LocalDate today,
+            @Param("closed") Collection<Task.Status> closed);
+}
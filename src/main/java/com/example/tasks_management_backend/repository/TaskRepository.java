@@ -1,6 +1,8 @@
 package com.example.tasks_management_backend.repository;
 
+import com.example.tasks_management_backend.dto.TaskCompletion;
 import com.example.tasks_management_backend.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,7 +12,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.subtasks WHERE t.id = :id")
     Optional<Task> findByIdWithSubtasks(@Param("id")Long id);
 
@@ -21,4 +23,12 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     List<Task> findByDeadlineBeforeAndStatus(LocalDate date, Task.Status status);
 
     List<Task> findByStatus(Task.Status status);
+
+    // Keyset chunk of tasks in a status. Ordering by status first lets H2 read idx_tasks_status_id in order
+    // instead of sorting every matching row.
+    @Query("SELECT new com.example.tasks_management_backend.dto.TaskCompletion(t.id, t.title, t.user.id, "
+            + "t.priority, t.deadline, t.version) "
+            + "FROM Task t WHERE t.status = :status AND t.id > :afterId ORDER BY t.status, t.id")
+    List<TaskCompletion> findChunkByStatus(@Param("status") Task.Status status, @Param("afterId") Long afterId,
+            Limit limit);
 }
\ No newline at end of file
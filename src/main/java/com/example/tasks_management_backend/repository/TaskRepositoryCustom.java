@@ -0,0 +1,38 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.dto.TaskCompletion;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskView;
+import com.example.tasks_management_backend.dto.UserView;
+import com.example.tasks_management_backend.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    // One projection query for the page, one batched query for its subtasks, plus the count
+    Page<TaskView> findTaskViews(Specification<Task> spec, Pageable pageable, UserView owner);
+
+    // Same page without the count: fetches one extra row to tell whether another page follows
+    Slice<TaskView> findTaskViewSlice(Specification<Task> spec, Pageable pageable, UserView owner);
+
+    // Keyset variant: the spec carries the seek predicate, so no offset and no count query
+    List<TaskView> findTaskViews(Specification<Task> spec, Sort sort, int limit, UserView owner);
+
+    // Single UPDATE over every matching row; a null status or priority leaves that column as it is
+    int updateStatusAndPriority(Specification<Task> spec, Task.Status status, Task.Priority priority);
+
+    // The UPDATED events that the same updateStatusAndPriority call would produce, carrying the bumped version.
+    // The rows are read with PESSIMISTIC_WRITE, so they keep the state the events describe until the
+    // transaction ends.
+    List<TaskEvent> findBulkUpdateEvents(Specification<Task> spec, Task.Status status, Task.Priority priority);
+
+    // One JDBC batch of guarded per-row UPDATEs: a task moves from one status to the other only if it still has
+    // that status and the version that was read. Element i is 1 when tasks.get(i) was updated, 0 otherwise.
+    int[] updateStatusIfUnchanged(List<TaskCompletion> tasks, Task.Status from, Task.Status to);
+}
@@ -0,0 +1,285 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.dto.SubTaskView;
+import com.example.tasks_management_backend.dto.TaskCompletion;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskView;
+import com.example.tasks_management_backend.dto.UserView;
+import com.example.tasks_management_backend.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskView> findTaskViews(Specification<Task> spec, Pageable pageable, UserView owner) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = selectViewColumns(query, spec, cb);
+        query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(toViews(rows, owner), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<TaskView> findTaskViewSlice(Specification<Task> spec, Pageable pageable, UserView owner) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = selectViewColumns(query, spec, cb);
+        query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Tuple> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(toViews(content, owner), pageable, hasNext);
+    }
+
+    @Override
+    public List<TaskView> findTaskViews(Specification<Task> spec, Sort sort, int limit, UserView owner) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = selectViewColumns(query, spec, cb);
+        query.orderBy(toOrders(sort, root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        return toViews(rows, owner);
+    }
+
+    // Rows already holding the target values are left alone, so their version does not move and the
+    // returned count is the number of tasks that actually changed. Managed copies are stale afterwards,
+    // hence the clear.
+    @Override
+    public int updateStatusAndPriority(Specification<Task> spec, Task.Status status, Task.Priority priority) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (status == null && priority == null) {
+            return 0;
+        }
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        if (status != null) {
+            update.set(root.get("status"), status);
+        }
+        if (priority != null) {
+            update.set(root.get("priority"), priority);
+        }
+        // A bulk UPDATE bypasses Hibernate's optimistic locking, so the version is bumped by hand
+        Path<Integer> version = root.get("version");
+        update.set(version, cb.sum(cb.coalesce(version, 0), 1));
+        update.where(changing(spec, root, status, priority, cb));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public List<TaskEvent> findBulkUpdateEvents(Specification<Task> spec, Task.Status status,
+            Task.Priority priority) {
+        if (status == null && priority == null) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(
+                root.get("id"),
+                root.get("user").get("id"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("deadline"),
+                root.get("version"));
+        query.where(changing(spec, root, status, priority, cb));
+
+        long now = System.currentTimeMillis();
+        List<TaskEvent> events = new ArrayList<>();
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        for (Tuple row : rows) {
+            Integer version = row.get(5, Integer.class);
+            events.add(new TaskEvent(
+                    TaskEvent.Type.UPDATED,
+                    row.get(0, Long.class),
+                    row.get(1, Long.class),
+                    status != null ? status : row.get(2, Task.Status.class),
+                    priority != null ? priority : row.get(3, Task.Priority.class),
+                    row.get(4, LocalDate.class),
+                    (version != null ? version : 0) + 1,
+                    now));
+        }
+        return events;
+    }
+
+    // Versions are compared as the bulk UPDATE above bumps them, with a missing version counting as 0
+    @Override
+    public int[] updateStatusIfUnchanged(List<TaskCompletion> tasks, Task.Status from, Task.Status to) {
+        if (tasks.isEmpty()) {
+            return new int[0];
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("UPDATE tasks SET status = ?, "
+                    + "version = COALESCE(version, 0) + 1 WHERE id = ? AND COALESCE(version, 0) = ? AND status = ?")) {
+                for (TaskCompletion task : tasks) {
+                    statement.setString(1, to.name());
+                    statement.setLong(2, task.id());
+                    statement.setInt(3, task.version() != null ? task.version() : 0);
+                    statement.setString(4, from.name());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    // Rows matching the spec that do not already hold every target value
+    private static Predicate changing(Specification<Task> spec, Root<Task> root, Task.Status status,
+            Task.Priority priority, CriteriaBuilder cb) {
+        List<Predicate> changes = new ArrayList<>();
+        if (status != null) {
+            changes.add(differs(root.get("status"), status, cb));
+        }
+        if (priority != null) {
+            changes.add(differs(root.get("priority"), priority, cb));
+        }
+        Predicate predicate = spec.toPredicate(root, null, cb);
+        Predicate changed = cb.or(changes.toArray(Predicate[]::new));
+        return predicate != null ? cb.and(predicate, changed) : changed;
+    }
+
+    private static Predicate differs(Path<Object> path, Object value, CriteriaBuilder cb) {
+        return cb.or(cb.isNull(path), cb.notEqual(path, value));
+    }
+
+    private Root<Task> selectViewColumns(CriteriaQuery<Tuple> query, Specification<Task> spec, CriteriaBuilder cb) {
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(
+                root.get("id"),
+                root.get("title"),
+                root.get("priority"),
+                root.get("attachmentUrl"),
+                root.get("deadline"),
+                root.get("status"),
+                root.get("version"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return root;
+    }
+
+    // These queries are always scoped to one owner. Leading with the owner column keeps the ORDER BY a
+    // prefix of the (user_id, field, id) indexes, which some planners (H2 among them) need before they
+    // will read rows in index order instead of sorting. Unlike QueryUtils this also honours NullHandling.
+    private List<Order> toOrders(Sort sort, Root<Task> root, HibernateCriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        if (first != null) {
+            Expression<?> ownerId = root.get("user").get("id");
+            orders.add(first.isAscending() ? cb.asc(ownerId) : cb.desc(ownerId));
+        }
+        for (Sort.Order order : sort) {
+            Expression<?> path = root.get(order.getProperty());
+            Sort.NullHandling nulls = order.getNullHandling();
+            if (nulls == Sort.NullHandling.NATIVE) {
+                orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+            } else {
+                boolean nullsFirst = nulls == Sort.NullHandling.NULLS_FIRST;
+                orders.add(order.isAscending() ? cb.asc(path, nullsFirst) : cb.desc(path, nullsFirst));
+            }
+        }
+        return orders;
+    }
+
+    private List<TaskView> toViews(List<Tuple> rows, UserView owner) {
+        List<Long> taskIds = rows.stream().map(row -> row.get(0, Long.class)).toList();
+        Map<Long, List<SubTaskView>> subtasksByTask = findSubtasks(taskIds);
+
+        List<TaskView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Long id = row.get(0, Long.class);
+            views.add(new TaskView(
+                    id,
+                    row.get(1, String.class),
+                    row.get(2, Task.Priority.class),
+                    row.get(3, String.class),
+                    row.get(4, LocalDate.class),
+                    row.get(5, Task.Status.class),
+                    row.get(6, Integer.class),
+                    subtasksByTask.getOrDefault(id, List.of()),
+                    owner));
+        }
+        return views;
+    }
+
+    private Map<Long, List<SubTaskView>> findSubtasks(Collection<Long> taskIds) {
+        Map<Long, List<SubTaskView>> byTask = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return byTask;
+        }
+        List<SubTaskView> subtasks = entityManager.createQuery(
+                "SELECT new com.example.tasks_management_backend.dto.SubTaskView("
+                        + "s.id, s.title, s.priority, s.deadline, s.status, s.version, s.parentTask.id) "
+                        + "FROM SubTask s WHERE s.parentTask.id IN :taskIds ORDER BY s.id",
+                SubTaskView.class)
+                .setParameter("taskIds", taskIds)
+                .getResultList();
+        for (SubTaskView subtask : subtasks) {
+            byTask.computeIfAbsent(subtask.taskId(), id -> new ArrayList<>()).add(subtask);
+        }
+        return byTask;
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.model.UserTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, Long> {
+
+    // Adds the delta in the statement itself, so concurrent batches for the same user queue on the row lock
+    // instead of overwriting each other. Returns 0 when the user has no row yet.
+    @Modifying
+    @Query("UPDATE UserTaskStats s SET s.total = s.total + :#{#delta.total}, "
+            + "s.pending = s.pending + :#{#delta.pending}, "
+            + "s.inProgress = s.inProgress + :#{#delta.inProgress}, "
+            + "s.completed = s.completed + :#{#delta.completed}, "
+            + "s.cancelled = s.cancelled + :#{#delta.cancelled}, "
+            + "s.lowPriority = s.lowPriority + :#{#delta.lowPriority}, "
+            + "s.mediumPriority = s.mediumPriority + :#{#delta.mediumPriority}, "
+            + "s.highPriority = s.highPriority + :#{#delta.highPriority}, "
+            + "s.revision = s.revision + 1 "
+            + "WHERE s.userId = :#{#delta.userId}")
+    int addCounts(@Param("delta") UserTaskStats delta);
+}
@@ -0,0 +1,205 @@
+package com.example.tasks_management_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Queues completion emails and sends them from a small worker pool in SES bulk templated calls, so a slow
+// SES never holds up the scheduler or a request thread. When the queue is full, callers wait up to the
+// offer timeout (backpressure) and the email is dropped after that.
+@Service
+@Primary
+public class AsyncEmailService implements EmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEmailService.class);
+
+    private static final long POLL_MS = 200;
+
+    private final SesEmailService sender;
+    private final BlockingQueue<TaskCompletedEmail> queue;
+    private final int workers;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long shutdownTimeoutMs;
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter retryCounter;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public AsyncEmailService(SesEmailService sender, MeterRegistry meterRegistry,
+            @Value("${app.email.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.email.workers:2}") int workers,
+            @Value("${app.email.batch-size:50}") int batchSize,
+            @Value("${app.email.linger-ms:100}") long lingerMs,
+            @Value("${app.email.offer-timeout-ms:2000}") long offerTimeoutMs,
+            @Value("${app.email.max-attempts:5}") int maxAttempts,
+            @Value("${app.email.backoff-ms:200}") long backoffMs,
+            @Value("${app.email.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = Math.min(batchSize, SesEmailService.MAX_BULK_DESTINATIONS);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        meterRegistry.gaugeCollectionSize("email.queue.depth", Tags.empty(), queue);
+        this.sendTimer = meterRegistry.timer("email.send");
+        this.deliveryTimer = meterRegistry.timer("email.delivery");
+        this.sentCounter = meterRegistry.counter("email.sent");
+        this.failedCounter = meterRegistry.counter("email.failed");
+        this.rejectedCounter = meterRegistry.counter("email.rejected");
+        this.retryCounter = meterRegistry.counter("email.retries");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    // Stops taking new work, lets the workers flush what is queued and gives up after the shutdown timeout
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+            logger.warn("Email workers did not finish in time, {} emails were not sent", queue.size());
+        }
+    }
+
+    @Override
+    public void sendTaskCompletedEmail(String recipient, String taskTitle, Long taskId) {
+        TaskCompletedEmail email = new TaskCompletedEmail(recipient, taskTitle, taskId, System.nanoTime());
+        try {
+            if (running && queue.offer(email, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        logger.warn("Email queue is full or stopped, dropping completion email for task ID {}", taskId);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<TaskCompletedEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskCompletedEmail first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Wait briefly for the batch to fill, so a burst goes out in as few calls as possible
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    TaskCompletedEmail next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                deliver(batch);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                // Interrupted while collecting a batch that was never sent
+                failedCounter.increment(batch.size());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failedCounter.increment(batch.size());
+                logger.error("Unexpected failure sending {} completion emails", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Retries what SES could not take with exponential backoff, up to maxAttempts calls per batch
+    private void deliver(List<TaskCompletedEmail> batch) {
+        List<TaskCompletedEmail> pending = batch;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                SesEmailService.BulkSendResult result = sender.sendTaskCompletedEmails(pending);
+                long now = System.nanoTime();
+                for (TaskCompletedEmail email : result.delivered()) {
+                    deliveryTimer.record(now - email.enqueuedAt(), TimeUnit.NANOSECONDS);
+                }
+                sentCounter.increment(result.delivered().size());
+                failedCounter.increment(pending.size() - result.delivered().size() - result.retryable().size());
+                pending = result.retryable();
+            } catch (RuntimeException e) {
+                logger.warn("Bulk send of {} completion emails failed (attempt {}/{}): {}", pending.size(), attempt,
+                        maxAttempts, e.getMessage());
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                failedCounter.increment(pending.size());
+                logger.error("Giving up on {} completion emails after {} attempts", pending.size(), attempt);
+                return;
+            }
+            retryCounter.increment();
+            try {
+                Thread.sleep(backoffMs << (attempt - 1));
+            } catch (InterruptedException e) {
+                failedCounter.increment(pending.size());
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
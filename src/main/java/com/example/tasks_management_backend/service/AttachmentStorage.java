@@ -0,0 +1,47 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import com.example.tasks_management_backend.dto.PresignedUrl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+// Where task attachments live, selected by app.attachments.storage. Keys are chosen by the caller; the URL
+// recorded on the task comes from urlOf and is mapped back to the key with keyOf.
+public interface AttachmentStorage {
+
+    // Streams the content under the key without buffering it whole, failing past getMaxUploadBytes
+    AttachmentUpload store(String key, InputStream content, String contentType) throws IOException;
+
+    long getMaxUploadBytes();
+
+    // Size of a stored object, or null if there is none
+    Long objectSize(String key);
+
+    String urlOf(String key);
+
+    // Inverse of urlOf; null for URLs this storage did not issue
+    String keyOf(String url);
+
+    // Presigned URLs let clients move the bytes to and from the store themselves. Only stores the clients
+    // can reach directly support them; callers check this before asking for one.
+    default boolean supportsPresignedUrls() {
+        return false;
+    }
+
+    // Only called when supportsPresignedUrls() is true. Stores that support them override both; reaching the
+    // default means a caller skipped the check.
+    default PresignedUrl presignUpload(String key, String contentType, long size) {
+        throw new IllegalStateException("Presigned uploads are not supported by " + getClass().getSimpleName());
+    }
+
+    default PresignedUrl presignDownload(String key) {
+        throw new IllegalStateException("Presigned downloads are not supported by " + getClass().getSimpleName());
+    }
+
+    // The file behind the key for stores on this machine, so it can be served straight from disk; null otherwise
+    default Path localPath(String key) {
+        return null;
+    }
+}
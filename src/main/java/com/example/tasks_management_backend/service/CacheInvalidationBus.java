@@ -0,0 +1,56 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Fans local cache evictions out to the other nodes. Caches register a handler per cache name;
+// messages published by this node are not applied twice.
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationTransport transport;
+    private final Map<String, Consumer<CacheInvalidationMessage>> handlers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(CacheInvalidationTransport transport) {
+        this.transport = transport;
+        transport.subscribe(this::onMessage);
+    }
+
+    public void register(String cache, Consumer<CacheInvalidationMessage> handler) {
+        handlers.put(cache, handler);
+    }
+
+    public void publishUser(String cache, Long userId) {
+        transport.publish(new CacheInvalidationMessage(nodeId, cache, userId, null));
+    }
+
+    public void publishKey(String cache, String key) {
+        transport.publish(new CacheInvalidationMessage(nodeId, cache, null, key));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void onMessage(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        Consumer<CacheInvalidationMessage> handler = handlers.get(message.cache());
+        if (handler == null) {
+            logger.debug("No handler registered for invalidation of cache {}", message.cache());
+            return;
+        }
+        handler.accept(message);
+    }
+}
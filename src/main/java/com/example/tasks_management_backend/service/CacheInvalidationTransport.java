@@ -0,0 +1,14 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.CacheInvalidationMessage;
+
+import java.util.function.Consumer;
+
+// Carries invalidation messages between application nodes. Implementations must deliver every
+// published message to the subscribers of all nodes, including the publishing one.
+public interface CacheInvalidationTransport {
+
+    void publish(CacheInvalidationMessage message);
+
+    void subscribe(Consumer<CacheInvalidationMessage> subscriber);
+}
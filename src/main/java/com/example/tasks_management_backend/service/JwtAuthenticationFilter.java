@@ -1,9 +1,11 @@
 package com.example.tasks_management_backend.service;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,16 +14,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Date;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final MyUserDetailsService userDetailsService;
+    private final boolean statelessAuthEnabled;
+    private final long maxTokenAgeMs;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, MyUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MyUserDetailsService userDetailsService,
+                                   @Value("${jwt.stateless-auth.enabled:false}") boolean statelessAuthEnabled,
+                                   @Value("${jwt.stateless-auth.max-token-age-ms:900000}") long maxTokenAgeMs) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.statelessAuthEnabled = statelessAuthEnabled;
+        this.maxTokenAgeMs = maxTokenAgeMs;
     }
 
     @Override
@@ -30,30 +39,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Signature and expiry are checked here, once per request
+                claims = jwtUtil.verifyToken(jwt);
             } catch (Exception ignored) {
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = statelessPrincipal(claims);
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Trusts the roles embedded in a recently issued token; older tokens are re-checked against the
+    // database so role changes take effect within maxTokenAgeMs
+    private UserDetails statelessPrincipal(Claims claims) {
+        if (!statelessAuthEnabled || claims.getIssuedAt() == null) {
+            return null;
+        }
+        long tokenAge = new Date().getTime() - claims.getIssuedAt().getTime();
+        if (tokenAge > maxTokenAgeMs) {
+            return null;
+        }
+        return jwtUtil.toPrincipal(claims);
+    }
 }
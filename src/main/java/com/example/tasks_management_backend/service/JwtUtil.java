@@ -1,57 +1,149 @@
 package com.example.tasks_management_backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
-    private final String SECRET_KEY;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
+    private final Key signingKey;
+    private final JwtParser jwtParser;
     private final long EXPIRATION_TIME;
 
+    // Already-verified tokens keyed by SHA-256 of the compact token; entries expire with the token
+    private final Cache<String, Claims> verifiedTokens;
+
     public JwtUtil(
             @Value("${jwt.secret-key}") String secretKey,
-            @Value("${jwt.expiration-time}") long expirationTime
+            @Value("${jwt.expiration-time}") long expirationTime,
+            @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheMaximumSize
     ) {
-        this.SECRET_KEY = secretKey;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
         this.EXPIRATION_TIME = expirationTime;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
     }
 
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
+                .claim(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList());
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            builder.claim(USER_ID_CLAIM, authenticatedUser.getId());
+        }
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return verifyToken(token).getSubject().equals(userDetails.getUsername());
     }
 
     public String extractUsername(String token) {
-        return getClaims(token).getSubject();
+        return verifyToken(token).getSubject();
+    }
+
+    // Verifies signature and expiry once per distinct token; repeat calls are served from the cache
+    public Claims verifyToken(String token) {
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = getClaims(token);
+            verifiedTokens.put(tokenHash, claims);
+        } else if (isExpired(claims)) {
+            verifiedTokens.invalidate(tokenHash);
+            throw new RuntimeException("Invalid JWT token: token expired");
+        }
+        return claims;
+    }
+
+    // Rebuilds the principal from verified claims; null when the token predates the id/roles claims
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(userId instanceof Number id) || !(roles instanceof List<?> roleList)) {
+            return null;
+        }
+        return new AuthenticatedUser(
+                id.longValue(),
+                claims.getSubject(),
+                "",
+                roleList.stream()
+                        .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                        .toList());
     }
 
     private Claims getClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException | UnsupportedJwtException | MalformedJwtException | SignatureException | IllegalArgumentException e) {
             throw new RuntimeException("Invalid JWT token: " + e.getMessage());
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private long remainingNanos(Claims claims) {
+        long remainingMillis = claims.getExpiration() != null
+                ? claims.getExpiration().getTime() - System.currentTimeMillis()
+                : EXPIRATION_TIME;
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(remainingMillis, EXPIRATION_TIME)));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
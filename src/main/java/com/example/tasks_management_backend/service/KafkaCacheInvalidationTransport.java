@@ -0,0 +1,55 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Broadcasts invalidations over Kafka. Every node consumes with its own group id from the latest
+// offset, so each instance sees every message published while it is running.
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "kafka")
+public class KafkaCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaCacheInvalidationTransport.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final List<Consumer<CacheInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public KafkaCacheInvalidationTransport(KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${app.cache.invalidation.topic}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        String partitionKey = message.userId() != null ? String.valueOf(message.userId()) : message.key();
+        kafkaTemplate.send(topic, partitionKey, message).whenComplete((result, ex) -> {
+            if (ex != null) {
+                logger.error("Failed to publish cache invalidation for cache {}", message.cache(), ex);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @KafkaListener(topics = "${app.cache.invalidation.topic}",
+            groupId = "cache-invalidation-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest")
+    public void onMessage(CacheInvalidationMessage message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+}
@@ -1,13 +1,30 @@
-// package com.example.tasks_management_backend.service;
+package com.example.tasks_management_backend.service;
 
-// import org.springframework.kafka.annotation.KafkaListener;
-// import org.springframework.stereotype.Service;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
 
-// @Service
-// public class KafkaConsumerService {
+import java.util.List;
 
-// @KafkaListener(topics = "task-created", groupId = "task-group")
-// public void listen(String message) {
-// System.out.println("Received message: " + message);
-// }
-// }
\ No newline at end of file
+// Feeds the task statistics read model from the task-events topic. Each poll is handed over as one batch and
+// applied in one transaction; the offsets are committed only after that, so a restarted or rebalanced consumer
+// resumes from the last applied batch and the redelivered events are skipped by version.
+@Service
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "kafka")
+public class KafkaConsumerService {
+
+    private final TaskStatsService taskStatsService;
+
+    public KafkaConsumerService(TaskStatsService taskStatsService) {
+        this.taskStatsService = taskStatsService;
+    }
+
+    // Events that fail to deserialize arrive as null and are dropped by TaskStatsService
+    @KafkaListener(id = "task-stats", topics = "${app.events.topic}", groupId = "${app.events.stats.group-id}",
+            batch = "true", concurrency = "${app.events.stats.concurrency}",
+            properties = {"auto.offset.reset=earliest", "max.poll.records=${app.events.stats.max-poll-records}"})
+    public void onEvents(List<TaskEvent> events) {
+        taskStatsService.apply(events);
+    }
+}
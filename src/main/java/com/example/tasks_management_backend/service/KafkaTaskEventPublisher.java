@@ -0,0 +1,82 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Sends task events to Kafka keyed by task id, so all events of one task land on the same partition in order.
+// Sends are asynchronous: the producer batches and compresses them (see spring.kafka.producer.*) and the
+// outcome is only recorded in metrics and the log. Delivery is at most once across a crash after commit.
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "kafka")
+public class KafkaTaskEventPublisher implements TaskEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaTaskEventPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public KafkaTaskEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry,
+            @Value("${app.events.topic}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimer = meterRegistry.timer("task.events.send");
+        this.sentCounter = meterRegistry.counter("task.events.sent");
+        this.failedCounter = meterRegistry.counter("task.events.failed");
+    }
+
+    @Override
+    public void publish(TaskEvent.Type type, Task task) {
+        TaskEventPublisher.afterCommit(() -> send(TaskEvent.of(type, task)));
+    }
+
+    @Override
+    public void publishAll(List<TaskEvent> events) {
+        if (!events.isEmpty()) {
+            TaskEventPublisher.afterCommit(() -> events.forEach(this::send));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private void send(TaskEvent event) {
+        long start = System.nanoTime();
+        try {
+            kafkaTemplate.send(topic, String.valueOf(event.taskId()), event).whenComplete((result, ex) -> {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (ex != null) {
+                    failed(event, ex);
+                } else {
+                    sentCounter.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Thrown when the producer cannot get metadata or buffer space within max.block.ms
+            failed(event, e);
+        }
+    }
+
+    private void failed(TaskEvent event, Throwable cause) {
+        failedCounter.increment();
+        logger.error("Failed to publish {} event for task ID {}: {}", event.type(), event.taskId(),
+                cause.getMessage());
+    }
+}
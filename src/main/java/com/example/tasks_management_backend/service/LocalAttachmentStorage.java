@@ -0,0 +1,132 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+// Keeps attachments on local disk for deployments without S3. Uploads are written through a FileChannel into a
+// temporary file that is moved into place once complete, so readers never see a partial file. Downloads are
+// served from localPath by the controller, zero-copy where the connector supports it.
+@Service
+@ConditionalOnProperty(name = "app.attachments.storage", havingValue = "local")
+public class LocalAttachmentStorage implements AttachmentStorage {
+
+    static final String URL_SCHEME = "local:";
+
+    // Upper bound on one transferFrom call, so the size limit is checked while the upload is still arriving
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private final Path root;
+    private final long maxUploadBytes;
+
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadBytes;
+    private final DistributionSummary uploadThroughput;
+
+    public LocalAttachmentStorage(MeterRegistry meterRegistry,
+            @Value("${app.attachments.local.root:attachments}") String root,
+            @Value("${app.attachments.max-size:5GB}") DataSize maxUploadSize) throws IOException {
+        this.root = Files.createDirectories(Path.of(root)).toAbsolutePath().normalize();
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.uploadTimer = meterRegistry.timer("attachments.upload");
+        this.uploadBytes = DistributionSummary.builder("attachments.upload.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadThroughput = DistributionSummary.builder("attachments.upload.throughput")
+                .baseUnit("bytes_per_second")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public AttachmentUpload store(String key, InputStream content, String contentType) throws IOException {
+        long start = System.nanoTime();
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        long written = 0;
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(content);
+                    FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = out.transferFrom(in, written, TRANSFER_CHUNK)) > 0) {
+                    written += transferred;
+                    if (written > maxUploadBytes) {
+                        throw new MaxUploadSizeExceededException(maxUploadBytes);
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        uploadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        uploadBytes.record(written);
+        double bytesPerSecond = elapsedNanos > 0 ? written * 1e9 / elapsedNanos : 0;
+        uploadThroughput.record(bytesPerSecond);
+        return new AttachmentUpload(key, urlOf(key), written, 1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                bytesPerSecond / (1024 * 1024));
+    }
+
+    @Override
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    @Override
+    public Long objectSize(String key) {
+        try {
+            Path file = resolve(key);
+            return Files.isRegularFile(file) ? Files.size(file) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Not fetchable as such: clients download through GET /api/tasks/{id}/attachment/content
+    @Override
+    public String urlOf(String key) {
+        return URL_SCHEME + key;
+    }
+
+    @Override
+    public String keyOf(String url) {
+        if (url == null || !url.startsWith(URL_SCHEME) || url.length() == URL_SCHEME.length()) {
+            return null;
+        }
+        return url.substring(URL_SCHEME.length());
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return resolve(key);
+    }
+
+    // Keys come from URLs stored on tasks, so anything that would leave the root is refused
+    private Path resolve(String key) {
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("Invalid attachment key: " + key);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.CacheInvalidationMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-JVM transport for single-node deployments and tests; several buses may share one instance
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-JVM transport for single-node deployments and tests: subscribers get the events of each commit on the
+// committing thread. With no subscriber the events are not even built.
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "local", matchIfMissing = true)
+public class LocalTaskEventPublisher implements TaskEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalTaskEventPublisher.class);
+
+    private final List<Consumer<List<TaskEvent>>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TaskEvent.Type type, Task task) {
+        if (isEnabled()) {
+            TaskEventPublisher.afterCommit(() -> deliver(List.of(TaskEvent.of(type, task))));
+        }
+    }
+
+    @Override
+    public void publishAll(List<TaskEvent> events) {
+        if (isEnabled() && !events.isEmpty()) {
+            TaskEventPublisher.afterCommit(() -> deliver(List.copyOf(events)));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !subscribers.isEmpty();
+    }
+
+    public void subscribe(Consumer<List<TaskEvent>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    // The write has already committed, so a failing subscriber must not surface to the caller
+    private void deliver(List<TaskEvent> events) {
+        for (Consumer<List<TaskEvent>> subscriber : subscribers) {
+            try {
+                subscriber.accept(events);
+            } catch (RuntimeException e) {
+                logger.error("Task event subscriber failed on {} events", events.size(), e);
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.tasks_management_backend.service;
 
-import com.example.tasks_management_backend.model.User;
-import com.example.tasks_management_backend.repository.UserRepository;
+import com.example.tasks_management_backend.dto.UserSnapshot;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,21 +11,22 @@ import java.util.stream.Collectors;
 
 @Service
 public class MyUserDetailsService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public MyUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public MyUserDetailsService(UserCache userCache) {
+        this.userCache = userCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        UserSnapshot user = userCache.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
+        return new AuthenticatedUser(
+                user.id(),
+                user.username(),
+                user.passwordHash(),
+                user.roles().stream()
                         .map(role -> new SimpleGrantedAuthority(role.name()))
                         .collect(Collectors.toList())
         );
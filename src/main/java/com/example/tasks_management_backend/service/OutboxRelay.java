@@ -0,0 +1,120 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.OutboxEvent;
+import com.example.tasks_management_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Drains the task outbox to SNS in PublishBatch calls. Published events are deleted; failed ones are
+// retried with exponential backoff and never dropped. Delivery is at least once.
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SnsService snsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+
+    private final Timer publishLag;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, SnsService snsService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.backoff-ms:1000}") long backoffMs,
+            @Value("${app.outbox.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.snsService = snsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.backoff = Duration.ofMillis(backoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.publishLag = meterRegistry.timer("outbox.publish.lag");
+        this.publishedCounter = meterRegistry.counter("outbox.published");
+        this.failedCounter = meterRegistry.counter("outbox.failed");
+        meterRegistry.gauge("outbox.pending", pending);
+        meterRegistry.gauge("outbox.oldest.age.seconds", oldestAgeSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> events;
+        do {
+            events = outboxEventRepository.findPublishable(Instant.now(), Limit.of(batchSize));
+            for (int from = 0; from < events.size(); from += SnsService.MAX_BATCH_ENTRIES) {
+                publish(events.subList(from, Math.min(from + SnsService.MAX_BATCH_ENTRIES, events.size())));
+            }
+        } while (events.size() == batchSize);
+
+        pending.set(outboxEventRepository.count());
+        Instant oldest = outboxEventRepository.findOldestCreatedAt();
+        oldestAgeSeconds.set(oldest != null ? Duration.between(oldest, Instant.now()).toSeconds() : 0);
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        Set<Long> published = new HashSet<>();
+        Map<Long, String> failures;
+        try {
+            SnsService.BatchOutcome outcome = snsService.publishBatch(batch);
+            published.addAll(outcome.published());
+            failures = outcome.failed();
+        } catch (RuntimeException e) {
+            failures = batch.stream().collect(Collectors.toMap(OutboxEvent::getId, event -> e.getMessage() != null
+                    ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+
+        Instant now = Instant.now();
+        List<OutboxEvent> failed = batch.stream().filter(event -> !published.contains(event.getId())).toList();
+        for (OutboxEvent event : batch) {
+            if (published.contains(event.getId())) {
+                publishLag.record(Duration.between(event.getCreatedAt(), now));
+            } else {
+                logger.warn("Failed to publish outbox event {} for task {} (attempt {}): {}", event.getId(),
+                        event.getAggregateId(), event.getAttempts() + 1, failures.get(event.getId()));
+            }
+        }
+        publishedCounter.increment(published.size());
+        failedCounter.increment(failed.size());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(published);
+            }
+            // Events that failed the same number of times share a retry time, so one UPDATE per group
+            failed.stream()
+                    .collect(Collectors.groupingBy(OutboxEvent::getAttempts,
+                            Collectors.mapping(OutboxEvent::getId, Collectors.toList())))
+                    .forEach((attempts, ids) -> outboxEventRepository.reschedule(ids, now.plus(backoffFor(attempts))));
+        });
+    }
+
+    private Duration backoffFor(int previousAttempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(previousAttempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
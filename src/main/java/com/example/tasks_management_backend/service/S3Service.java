@@ -1,49 +1,407 @@
 package com.example.tasks_management_backend.service;
 
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import com.example.tasks_management_backend.dto.PresignedUrl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
-public class S3Service {
+@ConditionalOnProperty(name = "app.attachments.storage", havingValue = "s3", matchIfMissing = true)
+public class S3Service implements AttachmentStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
+
+    // S3 rejects parts below 5MB, except for the last part of an upload
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
 
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final String bucketName;
+    private final Duration uploadUrlTtl;
+    private final Duration downloadUrlTtl;
+    private final int partSize;
+    private final int partsPerUpload;
+    private final long maxUploadBytes;
+    private final ExecutorService partUploader;
 
-    @Value("${aws.s3.bucketName}")
-    private String bucketName;
+    // Part buffers are shared by all uploads and capped, so memory stays flat however many uploads run and
+    // however large they are. Buffers are allocated on first use and reused after that.
+    private final Semaphore bufferPermits;
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
 
-    public S3Service(S3Client s3Client) {
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadBytes;
+    private final DistributionSummary uploadThroughput;
+    private final Counter abortedCounter;
+
+    public S3Service(S3Client s3Client, S3Presigner s3Presigner, MeterRegistry meterRegistry,
+            @Value("${aws.s3.bucketName}") String bucketName,
+            @Value("${app.attachments.presign.upload-ttl:15m}") Duration uploadUrlTtl,
+            @Value("${app.attachments.presign.download-ttl:5m}") Duration downloadUrlTtl,
+            @Value("${app.attachments.s3.part-size:8MB}") DataSize partSize,
+            @Value("${app.attachments.s3.parts-per-upload:4}") int partsPerUpload,
+            @Value("${app.attachments.s3.upload-threads:8}") int uploadThreads,
+            @Value("${app.attachments.s3.max-buffers:16}") int maxBuffers,
+            @Value("${app.attachments.max-size:5GB}") DataSize maxUploadSize) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.bucketName = bucketName;
+        this.uploadUrlTtl = uploadUrlTtl;
+        this.downloadUrlTtl = downloadUrlTtl;
+        this.partSize = (int) Math.max(partSize.toBytes(), MIN_PART_SIZE);
+        this.partsPerUpload = Math.max(partsPerUpload, 1);
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.bufferPermits = new Semaphore(Math.max(maxBuffers, 1));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.partUploader = Executors.newFixedThreadPool(uploadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-uploader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.uploadTimer = meterRegistry.timer("attachments.upload");
+        this.uploadBytes = DistributionSummary.builder("attachments.upload.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadThroughput = DistributionSummary.builder("attachments.upload.throughput")
+                .baseUnit("bytes_per_second")
+                .register(meterRegistry);
+        this.abortedCounter = meterRegistry.counter("attachments.upload.aborted");
     }
 
-    public String uploadFile(MultipartFile file) {
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+    @PreDestroy
+    public void stop() {
+        partUploader.shutdownNow();
+    }
+
+    @Override
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
 
+    @Override
+    public boolean supportsPresignedUrls() {
+        return true;
+    }
+
+    // Streams input of unknown length to S3. Anything that fits in one part goes up as a single PUT; larger
+    // input becomes a multipart upload whose parts are sent in parallel while the next ones are read, with
+    // at most partsPerUpload part buffers held per upload. If reading, the size limit or any part fails, the
+    // multipart upload is aborted so S3 does not keep (and bill for) the orphaned parts.
+    @Override
+    public AttachmentUpload store(String key, InputStream input, String contentType) throws IOException {
+        long start = System.nanoTime();
+
+        Semaphore inFlight = new Semaphore(partsPerUpload);
+        byte[] buffer = acquireBuffer(inFlight);
+        int length;
+        String uploadId = null;
         try {
-            PutObjectRequest putOb = PutObjectRequest.builder()
+            length = input.readNBytes(buffer, 0, partSize);
+            if (length < partSize) {
+                if (length > maxUploadBytes) {
+                    throw new MaxUploadSizeExceededException(maxUploadBytes);
+                }
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .contentType(contentType)
+                                .build(),
+                        body(buffer, length));
+            } else {
+                uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .build()).uploadId();
+            }
+        } catch (IOException | RuntimeException e) {
+            releaseBuffer(buffer, inFlight);
+            throw e;
+        }
+        if (uploadId == null) {
+            releaseBuffer(buffer, inFlight);
+            return completed(key, length, 1, start);
+        }
+
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        AtomicReference<Throwable> partFailure = new AtomicReference<>();
+        long total = 0;
+        try {
+            while (true) {
+                total += length;
+                if (total > maxUploadBytes) {
+                    releaseBuffer(buffer, inFlight);
+                    throw new MaxUploadSizeExceededException(maxUploadBytes);
+                }
+                parts.add(submitPart(key, uploadId, parts.size() + 1, buffer, length, inFlight, partFailure));
+                if (length < partSize) {
+                    break;
+                }
+                buffer = acquireBuffer(inFlight);
+                if (partFailure.get() != null) {
+                    releaseBuffer(buffer, inFlight);
+                    break;
+                }
+                try {
+                    length = input.readNBytes(buffer, 0, partSize);
+                } catch (IOException e) {
+                    releaseBuffer(buffer, inFlight);
+                    throw e;
+                }
+                if (length == 0) {
+                    releaseBuffer(buffer, inFlight);
+                    break;
+                }
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completedParts.add(await(part));
+            }
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
                     .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(file.getContentType())
-                    .build();
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            return completed(key, total, completedParts.size(), start);
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, parts, partFailure, e);
+            throw e;
+        }
+    }
+
+    // Signs a single PUT of exactly this size and content type, so the client cannot swap in a different file
+    @Override
+    public PresignedUrl presignUpload(String key, String contentType, long size) {
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(uploadUrlTtl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build())
+                .build());
+        // Host is set by every HTTP client on its own
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUrl(key, "PUT", presigned.url().toExternalForm(), headers, presigned.expiration());
+    }
 
-            s3Client.putObject(putOb, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+    @Override
+    public PresignedUrl presignDownload(String key) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(downloadUrlTtl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build())
+                .build());
+        return new PresignedUrl(key, "GET", presigned.url().toExternalForm(), null, presigned.expiration());
+    }
 
-            GetUrlRequest getUrlRequest = GetUrlRequest.builder()
+    // HEAD request, so nothing is downloaded
+    @Override
+    public Long objectSize(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
                     .bucket(bucketName)
-                    .key(fileName)
-                    .build();
+                    .key(key)
+                    .build()).contentLength();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String urlOf(String key) {
+        GetUrlRequest getUrlRequest = GetUrlRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
 
-            return s3Client.utilities().getUrl(getUrlRequest).toExternalForm();
+        return s3Client.utilities().getUrl(getUrlRequest).toExternalForm();
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to upload file to S3", e);
+    // Strips the bucket URL that urlOf prepends; URLs outside the bucket are not ours
+    @Override
+    public String keyOf(String url) {
+        String base = urlOf("_");
+        base = base.substring(0, base.length() - 1);
+        if (url == null || !url.startsWith(base) || url.length() == base.length()) {
+            return null;
         }
+        return URLDecoder.decode(url.substring(base.length()), StandardCharsets.UTF_8);
+    }
+
+    private Future<CompletedPart> submitPart(String key, String uploadId, int partNumber, byte[] buffer, int length,
+            Semaphore inFlight, AtomicReference<Throwable> partFailure) {
+        return partUploader.submit(() -> {
+            try {
+                // Once a part has failed the upload is going to be aborted, so the remaining ones are skipped
+                if (partFailure.get() != null) {
+                    return null;
+                }
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        body(buffer, length)).eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+            } catch (RuntimeException e) {
+                partFailure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                releaseBuffer(buffer, inFlight);
+            }
+        });
+    }
+
+    // Waits for the parts still in flight, so none of them lands after the abort, then aborts the upload
+    private void abort(String key, String uploadId, List<Future<CompletedPart>> parts,
+            AtomicReference<Throwable> partFailure, Exception cause) {
+        partFailure.compareAndSet(null, cause);
+        for (Future<CompletedPart> part : parts) {
+            try {
+                part.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // Already reported through the failure that triggered the abort
+            }
+        }
+        abortedCounter.increment();
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            logger.warn("Aborted multipart upload of {} after {} parts: {}", key, parts.size(), cause.getMessage());
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+            logger.error("Failed to abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+
+    private CompletedPart await(Future<CompletedPart> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while uploading to S3");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Part upload failed", e.getCause());
+        }
+    }
+
+    private AttachmentUpload completed(String key, long bytes, int parts, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        uploadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        uploadBytes.record(bytes);
+        double bytesPerSecond = elapsedNanos > 0 ? bytes * 1e9 / elapsedNanos : 0;
+        uploadThroughput.record(bytesPerSecond);
+        return new AttachmentUpload(key, urlOf(key), bytes, parts, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                bytesPerSecond / (1024 * 1024));
+    }
+
+    // Takes a per-upload slot first and a shared buffer second, so a single upload cannot drain the pool
+    private byte[] acquireBuffer(Semaphore inFlight) throws InterruptedIOException {
+        try {
+            inFlight.acquire();
+            try {
+                bufferPermits.acquire();
+            } catch (InterruptedException e) {
+                inFlight.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upload buffer");
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer, Semaphore inFlight) {
+        freeBuffers.offer(buffer);
+        bufferPermits.release();
+        inFlight.release();
+    }
+
+    int availableBuffers() {
+        return bufferPermits.availablePermits();
+    }
+
+    // Wraps the pooled buffer without copying it; the SDK may open the stream more than once on retries
+    private static RequestBody body(byte[] buffer, int length) {
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length), length,
+                "application/octet-stream");
     }
 }
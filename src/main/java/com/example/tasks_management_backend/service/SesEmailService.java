@@ -1,5 +1,7 @@
 package com.example.tasks_management_backend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,18 +9,34 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class SesEmailService implements EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(SesEmailService.class);
 
-    private final SesClient sesClient;
+    // Most destinations SES accepts in one SendBulkTemplatedEmail call
+    public static final int MAX_BULK_DESTINATIONS = 50;
+
+    private static final Set<BulkEmailStatus> RETRYABLE = Set.of(BulkEmailStatus.ACCOUNT_THROTTLED,
+            BulkEmailStatus.TRANSIENT_FAILURE);
 
-    @Value("${aws.ses.sourceEmail}")
-    private String sourceEmail;
+    private final SesClient sesClient;
+    private final String sourceEmail;
+    private final String completedTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile boolean templateReady;
 
-    public SesEmailService(SesClient sesClient) {
+    public SesEmailService(SesClient sesClient, @Value("${aws.ses.sourceEmail}") String sourceEmail,
+            @Value("${aws.ses.completedTemplate:task-completed}") String completedTemplate) {
         this.sesClient = sesClient;
+        this.sourceEmail = sourceEmail;
+        this.completedTemplate = completedTemplate;
+        this.objectMapper = new ObjectMapper();
     }
 
     @Override
@@ -44,4 +62,81 @@ public class SesEmailService implements EmailService {
             logger.error("Failed to send email via SES", e);
         }
     }
+
+    // Sends up to MAX_BULK_DESTINATIONS completion emails in one templated call. Destinations SES reports as
+    // throttled or transiently failed come back as retryable; any other failure is logged and dropped. A
+    // failure of the call as a whole is thrown, so the caller can retry the entire batch.
+    public BulkSendResult sendTaskCompletedEmails(List<TaskCompletedEmail> emails) {
+        if (emails.size() > MAX_BULK_DESTINATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DESTINATIONS + " emails per bulk send");
+        }
+        ensureTemplate();
+
+        List<BulkEmailDestination> destinations = new ArrayList<>(emails.size());
+        for (TaskCompletedEmail email : emails) {
+            destinations.add(BulkEmailDestination.builder()
+                    .destination(Destination.builder().toAddresses(email.recipient()).build())
+                    .replacementTemplateData(templateData(email))
+                    .build());
+        }
+        SendBulkTemplatedEmailResponse response = sesClient.sendBulkTemplatedEmail(SendBulkTemplatedEmailRequest
+                .builder()
+                .source(sourceEmail)
+                .template(completedTemplate)
+                .defaultTemplateData("{\"taskTitle\":\"\",\"taskId\":\"\"}")
+                .destinations(destinations)
+                .build());
+
+        // Statuses are returned in the order of the destinations
+        List<TaskCompletedEmail> delivered = new ArrayList<>();
+        List<TaskCompletedEmail> retryable = new ArrayList<>();
+        List<BulkEmailDestinationStatus> statuses = response.status();
+        for (int i = 0; i < emails.size(); i++) {
+            TaskCompletedEmail email = emails.get(i);
+            BulkEmailStatus status = i < statuses.size() ? statuses.get(i).status() : BulkEmailStatus.FAILED;
+            if (status == BulkEmailStatus.SUCCESS) {
+                delivered.add(email);
+            } else if (RETRYABLE.contains(status)) {
+                retryable.add(email);
+            } else {
+                logger.error("SES rejected completion email for task ID {} to {}: {}", email.taskId(),
+                        email.recipient(), i < statuses.size() ? statuses.get(i).error() : status);
+            }
+        }
+        return new BulkSendResult(delivered, retryable);
+    }
+
+    // The template is created on first use so a fresh account or region needs no manual setup
+    private void ensureTemplate() {
+        if (templateReady) {
+            return;
+        }
+        try {
+            sesClient.getTemplate(GetTemplateRequest.builder().templateName(completedTemplate).build());
+        } catch (TemplateDoesNotExistException e) {
+            sesClient.createTemplate(CreateTemplateRequest.builder()
+                    .template(Template.builder()
+                            .templateName(completedTemplate)
+                            .subjectPart("Task Completed: {{taskTitle}}")
+                            .textPart("The task '{{taskTitle}}' (ID: {{taskId}}) has been automatically marked as "
+                                    + "completed.")
+                            .build())
+                    .build());
+            logger.info("Created SES template {}", completedTemplate);
+        }
+        templateReady = true;
+    }
+
+    private String templateData(TaskCompletedEmail email) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "taskTitle", email.taskTitle() != null ? email.taskTitle() : "",
+                    "taskId", String.valueOf(email.taskId())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize template data", e);
+        }
+    }
+
+    public record BulkSendResult(List<TaskCompletedEmail> delivered, List<TaskCompletedEmail> retryable) {
+    }
 }
@@ -1,17 +1,20 @@
 package com.example.tasks_management_backend.service;
 
-import com.example.tasks_management_backend.model.Task;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.tasks_management_backend.model.OutboxEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sns.SnsClient;
-import software.amazon.awssdk.services.sns.model.PublishRequest;
-import software.amazon.awssdk.services.sns.model.PublishResponse;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,44 +22,55 @@ public class SnsService {
 
     private static final Logger logger = LoggerFactory.getLogger(SnsService.class);
 
+    // Most entries SNS accepts in one PublishBatch call
+    public static final int MAX_BATCH_ENTRIES = 10;
+
     private final SnsClient snsClient;
     private final String topicArn;
-    private final ObjectMapper objectMapper;
 
     public SnsService(SnsClient snsClient, @Value("${aws.sns.topicArn}") String topicArn) {
         this.snsClient = snsClient;
         this.topicArn = topicArn;
-        this.objectMapper = new ObjectMapper();
     }
 
-    public void publishTaskCreatedEvent(Task task) {
-        try {
-            String message = createMessage(task);
-            PublishRequest request = PublishRequest.builder()
-                    .topicArn(topicArn)
-                    .message(message)
-                    .subject("High Priority Task Created: " + task.getTitle())
-                    .build();
-
-            PublishResponse result = snsClient.publish(request);
-            logger.info("Published High Priority Task event to SNS. MessageId: {}, TaskId: {}", result.messageId(),
-                    task.getId());
-        } catch (Exception e) {
-            logger.error("Failed to publish SNS message for task {}", task.getId(), e);
+    // Publishes up to MAX_BATCH_ENTRIES outbox events in one call. Entries SNS refuses are returned with the
+    // reason; a failure of the call as a whole is thrown. On a FIFO topic each task is its own message group
+    // and the outbox id deduplicates a retried publish.
+    public BatchOutcome publishBatch(List<OutboxEvent> events) {
+        if (events.size() > MAX_BATCH_ENTRIES) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_ENTRIES + " events per batch");
+        }
+        boolean fifo = topicArn.endsWith(".fifo");
+        List<PublishBatchRequestEntry> entries = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            PublishBatchRequestEntry.Builder entry = PublishBatchRequestEntry.builder()
+                    .id(String.valueOf(event.getId()))
+                    .subject(event.getSubject())
+                    .message(event.getPayload());
+            if (fifo) {
+                entry.messageGroupId("task-" + event.getAggregateId())
+                        .messageDeduplicationId(String.valueOf(event.getId()));
+            }
+            entries.add(entry.build());
         }
-    }
 
-    private String createMessage(Task task) throws JsonProcessingException {
-        Map<String, Object> eventData = new HashMap<>();
-        eventData.put("taskId", task.getId());
-        eventData.put("title", task.getTitle());
-        eventData.put("priority", task.getPriority());
-        eventData.put("status", task.getStatus());
-        eventData.put("deadline", task.getDeadline() != null ? task.getDeadline().toString() : null);
-        if (task.getUser() != null) {
-            eventData.put("assignedUser", task.getUser().getUsername());
+        PublishBatchResponse response = snsClient.publishBatch(PublishBatchRequest.builder()
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(entries)
+                .build());
+
+        List<Long> published = new ArrayList<>(response.successful().size());
+        for (PublishBatchResultEntry entry : response.successful()) {
+            published.add(Long.valueOf(entry.id()));
+            logger.debug("Published outbox event {} to SNS. MessageId: {}", entry.id(), entry.messageId());
+        }
+        Map<Long, String> failed = new HashMap<>();
+        for (BatchResultErrorEntry entry : response.failed()) {
+            failed.put(Long.valueOf(entry.id()), entry.code() + ": " + entry.message());
         }
+        return new BatchOutcome(published, failed);
+    }
 
-        return objectMapper.writeValueAsString(eventData);
+    public record BatchOutcome(List<Long> published, Map<Long, String> failed) {
     }
 }
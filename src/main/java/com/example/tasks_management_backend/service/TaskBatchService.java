@@ -0,0 +1,219 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.BatchItemResult;
+import com.example.tasks_management_backend.dto.BatchResult;
+import com.example.tasks_management_backend.dto.SubTaskRequest;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskRequest;
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import com.example.tasks_management_backend.repository.SubTaskRepository;
+import com.example.tasks_management_backend.repository.TaskRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// Creates many tasks or subtasks per request. Items are validated up front, then persisted in
+// chunked transactions whose inserts Hibernate sends as JDBC batches.
+@Service
+public class TaskBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchService.class);
+
+    private final TaskRepository taskRepository;
+    private final SubTaskRepository subTaskRepository;
+    private final UserService userService;
+    private final TaskOutboxService taskOutboxService;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TaskCacheKeys taskCacheKeys;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int maxItems;
+    private final int chunkSize;
+
+    public TaskBatchService(TaskRepository taskRepository, SubTaskRepository subTaskRepository,
+            UserService userService, TaskOutboxService taskOutboxService, TaskEventPublisher taskEventPublisher,
+            TaskCacheKeys taskCacheKeys, PlatformTransactionManager transactionManager, Validator validator,
+            @Value("${app.batch.max-items:1000}") int maxItems,
+            @Value("${app.batch.chunk-size:100}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.subTaskRepository = subTaskRepository;
+        this.userService = userService;
+        this.taskOutboxService = taskOutboxService;
+        this.taskEventPublisher = taskEventPublisher;
+        this.taskCacheKeys = taskCacheKeys;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchResult createTasks(List<TaskRequest> requests) {
+        checkSize(requests);
+        User owner = userService.getCurrentUserReference();
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validateTask(requests.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.failed(i, errors);
+            }
+        }
+
+        persistInChunks(valid, results,
+                i -> toTask(requests.get(i), owner),
+                tasks -> {
+                    taskRepository.saveAll(tasks);
+                    // Same event as a single create, committed with the chunk
+                    tasks.stream()
+                            .filter(task -> task.getPriority() == Task.Priority.HIGH)
+                            .forEach(taskOutboxService::recordTaskCreated);
+                    tasks.forEach(task -> taskEventPublisher.publish(TaskEvent.Type.CREATED, task));
+                },
+                owner.getId(),
+                Task::getId);
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    public BatchResult createSubTasks(Long taskId, List<SubTaskRequest> requests) {
+        checkSize(requests);
+        Task parent = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        Long ownerId = parent.getUser().getId();
+        if (!ownerId.equals(userService.getCurrentUserId())) {
+            throw new AccessDeniedException("You do not have permission to access this task");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i), "");
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResult.failed(i, errors);
+            }
+        }
+
+        persistInChunks(valid, results,
+                i -> toSubTask(requests.get(i)),
+                subTasks -> {
+                    Task reference = taskRepository.getReferenceById(taskId);
+                    subTasks.forEach(subTask -> subTask.setParentTask(reference));
+                    subTaskRepository.saveAll(subTasks);
+                },
+                ownerId,
+                SubTask::getId);
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    // Persists each chunk in its own transaction. A failing chunk is rolled back as a whole and its
+    // items are retried one per transaction, so a single bad row only fails its own item.
+    private <T> void persistInChunks(List<Integer> indexes, BatchItemResult[] results, IntFunction<T> factory,
+            Consumer<List<T>> persister, Long ownerId, Function<T, Long> onCreated) {
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + chunkSize, indexes.size()));
+            List<T> entities = chunk.stream().map(factory::apply).toList();
+            try {
+                persist(entities, persister, ownerId);
+                for (int j = 0; j < chunk.size(); j++) {
+                    results[chunk.get(j)] = BatchItemResult.created(chunk.get(j), onCreated.apply(entities.get(j)));
+                }
+            } catch (RuntimeException chunkFailure) {
+                logger.warn("Batch chunk of {} items failed, retrying items individually: {}", chunk.size(),
+                        chunkFailure.getMessage());
+                for (Integer index : chunk) {
+                    T entity = factory.apply(index);
+                    try {
+                        persist(List.of(entity), persister, ownerId);
+                        results[index] = BatchItemResult.created(index, onCreated.apply(entity));
+                    } catch (RuntimeException itemFailure) {
+                        results[index] = BatchItemResult.failed(index,
+                                Map.of("error", NestedExceptionUtils.getMostSpecificCause(itemFailure).getMessage()));
+                    }
+                }
+            }
+        }
+    }
+
+    private <T> void persist(List<T> entities, Consumer<List<T>> persister, Long ownerId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            persister.accept(entities);
+            taskCacheKeys.evictUser(ownerId);
+        });
+    }
+
+    private void checkSize(List<?> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("Batch may contain at most " + maxItems + " items");
+        }
+    }
+
+    private Map<String, String> validateTask(TaskRequest request) {
+        Map<String, String> errors = validate(request, "");
+        if (request != null && request.subtasks() != null) {
+            for (int i = 0; i < request.subtasks().size(); i++) {
+                errors.putAll(validate(request.subtasks().get(i), "subtasks[" + i + "]."));
+            }
+        }
+        return errors;
+    }
+
+    private Map<String, String> validate(Object request, String prefix) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (request == null) {
+            errors.put(prefix.isEmpty() ? "item" : prefix.substring(0, prefix.length() - 1), "must not be null");
+            return errors;
+        }
+        for (ConstraintViolation<Object> violation : validator.validate(request)) {
+            errors.put(prefix + violation.getPropertyPath(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private Task toTask(TaskRequest request, User owner) {
+        Task task = new Task();
+        task.setTitle(request.title());
+        task.setPriority(request.priority());
+        task.setDeadline(request.deadline());
+        task.setStatus(request.status());
+        task.setUser(owner);
+        if (request.subtasks() != null) {
+            request.subtasks().forEach(subTaskRequest -> task.addSubTask(toSubTask(subTaskRequest)));
+        }
+        return task;
+    }
+
+    private SubTask toSubTask(SubTaskRequest request) {
+        SubTask subTask = new SubTask();
+        subTask.setTitle(request.title());
+        subTask.setPriority(request.priority());
+        subTask.setDeadline(request.deadline());
+        subTask.setStatus(request.status());
+        return subTask;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.config.CacheConfig;
+import com.example.tasks_management_backend.model.Task;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class TaskCacheKeys {
+
+    private final UserService userService;
+    private final CacheInvalidationBus invalidationBus;
+
+    // One counter per user; entries keyed with an older generation simply age out of the cache
+    private final ConcurrentMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public TaskCacheKeys(UserService userService, CacheInvalidationBus invalidationBus) {
+        this.userService = userService;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CacheConfig.TASKS_CACHE, message -> bump(message.userId()));
+    }
+
+    public TaskListCacheKey listKey(Task.Priority priority, Task.Status status, LocalDate deadlineBefore,
+            String sortBy, String direction, int page, int size) {
+        Long userId = userService.getCurrentUserId();
+        return new TaskListCacheKey(
+                userId,
+                generation(userId),
+                priority,
+                status,
+                deadlineBefore,
+                sortBy != null ? sortBy : "id",
+                direction != null ? direction.toUpperCase(Locale.ROOT) : "ASC",
+                page,
+                size);
+    }
+
+    public TaskCountCacheKey countKey(Task.Priority priority, Task.Status status, LocalDate deadlineBefore) {
+        Long userId = userService.getCurrentUserId();
+        return new TaskCountCacheKey(userId, generation(userId), priority, status, deadlineBefore);
+    }
+
+    public long generation(Long userId) {
+        return generations.getOrDefault(userId, 0L);
+    }
+
+    // Invalidates every cached list page and count of the given user on all nodes. Inside a transaction this is
+    // deferred until commit so a concurrent reader cannot re-cache the pre-commit state.
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+    }
+
+    private void invalidate(Long userId) {
+        bump(userId);
+        invalidationBus.publishUser(CacheConfig.TASKS_CACHE, userId);
+    }
+
+    private void bump(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tasks_management_backend.service;
+
+// One queued completion email; enqueuedAt (System.nanoTime) measures how long it waited for delivery
+public record TaskCompletedEmail(
+        String recipient,
+        String taskTitle,
+        Long taskId,
+        long enqueuedAt) {
+}
@@ -0,0 +1,14 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+
+// Key for a cached task count; shares the owner's generation with the list pages
+public record TaskCountCacheKey(
+        Long userId,
+        long generation,
+        Task.Priority priority,
+        Task.Status status,
+        LocalDate deadlineBefore) {
+}
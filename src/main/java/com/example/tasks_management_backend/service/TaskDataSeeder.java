@@ -0,0 +1,407 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generates synthetic users, tasks and subtasks straight through JDBC batch inserts on parallel workers, one
+// transaction per batch, so large datasets (millions of rows) can be stood up for performance work. Ids come in
+// blocks from the same pooled sequences Hibernate uses, so rows written later through JPA never collide. Every
+// committed batch publishes CREATED events for the statistics read model, like any other write.
+@Service
+public class TaskDataSeeder {
+
+    public static final String USERNAME_PREFIX = "seed-user-";
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDataSeeder.class);
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email) VALUES (?, ?, ?)";
+    private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, roles) VALUES (?, ?)";
+    private static final String INSERT_TASK =
+            "INSERT INTO tasks (id, title, priority, status, deadline, version, user_id) VALUES (?, ?, ?, ?, ?, 0, ?)";
+    private static final String INSERT_SUBTASK =
+            "INSERT INTO subtasks (id, title, priority, status, deadline, version, task_id) VALUES (?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TaskCacheKeys taskCacheKeys;
+    private final Dialect dialect;
+
+    private final int users;
+    private final int tasksPerUser;
+    private final int minSubtasks;
+    private final int maxSubtasks;
+    private final int minDeadlineDays;
+    private final int maxDeadlineDays;
+    private final double deadlineSkew;
+    private final Weighted<Task.Status> statuses;
+    private final Weighted<Task.Priority> priorities;
+    private final int workers;
+    private final int batchSize;
+    private final long randomSeed;
+    private final String userPassword;
+
+    public TaskDataSeeder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory, PasswordEncoder passwordEncoder,
+            TaskEventPublisher taskEventPublisher, TaskCacheKeys taskCacheKeys,
+            @Value("${app.seed.users:0}") int users,
+            @Value("${app.seed.tasks-per-user:100}") int tasksPerUser,
+            @Value("${app.seed.subtasks.min:1}") int minSubtasks,
+            @Value("${app.seed.subtasks.max:3}") int maxSubtasks,
+            @Value("${app.seed.deadline.min-days:0}") int minDeadlineDays,
+            @Value("${app.seed.deadline.max-days:10}") int maxDeadlineDays,
+            @Value("${app.seed.deadline.skew:1.0}") double deadlineSkew,
+            @Value("${app.seed.status-weights:PENDING:1,IN_PROGRESS:1,COMPLETED:1,CANCELLED:1}") String statusWeights,
+            @Value("${app.seed.priority-weights:LOW:1,MEDIUM:1,HIGH:1}") String priorityWeights,
+            @Value("${app.seed.workers:4}") int workers,
+            @Value("${app.seed.batch-size:1000}") int batchSize,
+            @Value("${app.seed.random-seed:#{null}}") Long randomSeed,
+            @Value("${app.seed.user-password:password}") String userPassword) {
+        if (minSubtasks < 0 || maxSubtasks < minSubtasks) {
+            throw new IllegalArgumentException("app.seed.subtasks needs 0 <= min <= max");
+        }
+        if (maxDeadlineDays < minDeadlineDays || deadlineSkew <= 0) {
+            throw new IllegalArgumentException("app.seed.deadline needs min-days <= max-days and a positive skew");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.taskEventPublisher = taskEventPublisher;
+        this.taskCacheKeys = taskCacheKeys;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.users = users;
+        this.tasksPerUser = tasksPerUser;
+        this.minSubtasks = minSubtasks;
+        this.maxSubtasks = maxSubtasks;
+        this.minDeadlineDays = minDeadlineDays;
+        this.maxDeadlineDays = maxDeadlineDays;
+        this.deadlineSkew = deadlineSkew;
+        this.statuses = Weighted.parse(statusWeights, Task.Status.class);
+        this.priorities = Weighted.parse(priorityWeights, Task.Priority.class);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.randomSeed = randomSeed != null ? randomSeed : ThreadLocalRandom.current().nextLong();
+        this.userPassword = userPassword;
+    }
+
+    public record SeedSummary(int users, long tasks, long subtasks, Duration elapsed) {
+    }
+
+    // Gives an existing user count tasks, drawn from the same distributions as the synthetic users
+    public SeedSummary seedTasks(Long userId, int count) {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        ChunkWriter writer = new ChunkWriter(progress);
+        writer.addTasks(userId, count, random(-1));
+        writer.flush();
+        return new SeedSummary(0, progress.tasks.get(), progress.subtasks.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Creates app.seed.users users named seed-user-N with app.seed.tasks-per-user tasks each. Skipped when
+    // synthetic users already exist (a persistent database seeded by an earlier start).
+    public SeedSummary seedUsers() {
+        if (users <= 0) {
+            return new SeedSummary(0, 0, 0, Duration.ZERO);
+        }
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username LIKE ?",
+                Integer.class, USERNAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            logger.info("Skipping synthetic data: {} {}* users already exist", existing, USERNAME_PREFIX);
+            return new SeedSummary(0, 0, 0, Duration.ZERO);
+        }
+
+        long start = System.nanoTime();
+        long plannedTasks = (long) users * tasksPerUser;
+        logger.info("Seeding {} users x {} tasks ({} tasks) with {} workers, {} rows per batch, random seed {}",
+                users, tasksPerUser, plannedTasks, workers, batchSize, randomSeed);
+        String passwordHash = passwordEncoder.encode(userPassword);
+        Progress progress = new Progress();
+
+        // Several slices per worker so a slow slice does not leave the others idle at the end
+        int sliceSize = Math.max(1, (users + workers * 4 - 1) / (workers * 4));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "data-seeder-" + progress.threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (int first = 0; first < users; first += sliceSize) {
+                int from = first;
+                int to = Math.min(users, first + sliceSize);
+                slices.add(executor.submit(() -> seedSlice(from, to, passwordHash, progress)));
+            }
+            for (Future<?> slice : slices) {
+                while (true) {
+                    try {
+                        slice.get(10, TimeUnit.SECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        logProgress(progress, plannedTasks, start);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SeedSummary summary = new SeedSummary(progress.users.get(), progress.tasks.get(), progress.subtasks.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        double seconds = Math.max(summary.elapsed().toMillis(), 1) / 1000.0;
+        logger.info("Seeded {} users, {} tasks and {} subtasks in {}s ({} rows/s)", summary.users(),
+                summary.tasks(), summary.subtasks(), String.format("%.1f", seconds),
+                Math.round((summary.users() + summary.tasks() + summary.subtasks()) / seconds));
+        return summary;
+    }
+
+    private void seedSlice(int from, int to, String passwordHash, Progress progress) {
+        List<Long> userIds = insertUsers(from, to, passwordHash);
+        progress.users.addAndGet(userIds.size());
+        ChunkWriter writer = new ChunkWriter(progress);
+        for (int i = 0; i < userIds.size(); i++) {
+            writer.addTasks(userIds.get(i), tasksPerUser, random(from + i));
+        }
+        writer.flush();
+    }
+
+    private List<Long> insertUsers(int from, int to, String passwordHash) {
+        return transactionTemplate.execute(status -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER,
+                    Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    String username = USERNAME_PREFIX + (from + i);
+                    statement.setString(1, username);
+                    statement.setString(2, passwordHash);
+                    statement.setString(3, username + "@example.com");
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return to - from;
+                }
+            }, keys);
+            List<Long> ids = keys.getKeyList().stream()
+                    .map(row -> ((Number) row.values().iterator().next()).longValue())
+                    .toList();
+            jdbcTemplate.batchUpdate(INSERT_ROLE, ids.stream()
+                    .map(id -> new Object[] {id, Role.ROLE_USER.name()})
+                    .toList());
+            return ids;
+        });
+    }
+
+    // Per-user generator, so a given random seed reproduces the same data however slices are scheduled
+    private SplittableRandom random(int userIndex) {
+        return new SplittableRandom(randomSeed * 31 + userIndex);
+    }
+
+    private LocalDate deadline(SplittableRandom random, LocalDate today) {
+        // u^skew on [0, 1): skew > 1 bunches deadlines towards min-days, skew < 1 towards max-days
+        double position = Math.pow(random.nextDouble(), deadlineSkew);
+        int days = minDeadlineDays + (int) Math.min(maxDeadlineDays - minDeadlineDays,
+                Math.floor(position * (maxDeadlineDays - minDeadlineDays + 1)));
+        return today.plusDays(days);
+    }
+
+    private void logProgress(Progress progress, long plannedTasks, long start) {
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        long tasks = progress.tasks.get();
+        logger.info("Seeded {}/{} tasks ({}%), {} rows/s", tasks, plannedTasks,
+                plannedTasks > 0 ? tasks * 100 / plannedTasks : 100,
+                Math.round((progress.users.get() + tasks + progress.subtasks.get()) / seconds));
+    }
+
+    private static final class Progress {
+        final AtomicInteger threads = new AtomicInteger();
+        final AtomicInteger users = new AtomicInteger();
+        final AtomicLong tasks = new AtomicLong();
+        final AtomicLong subtasks = new AtomicLong();
+    }
+
+    // Buffers rows of one worker and writes them batchSize tasks at a time, each batch in its own transaction
+    private final class ChunkWriter {
+
+        private final Progress progress;
+        private final IdBlock taskIds = new IdBlock(Task.class, "tasks_seq");
+        private final IdBlock subtaskIds = new IdBlock(SubTask.class, "subtasks_seq");
+        private final List<Object[]> tasks = new ArrayList<>();
+        private final List<Object[]> subtasks = new ArrayList<>();
+        private final List<TaskEvent> events = new ArrayList<>();
+        private final Set<Long> owners = new LinkedHashSet<>();
+
+        ChunkWriter(Progress progress) {
+            this.progress = progress;
+        }
+
+        void addTasks(Long userId, int count, SplittableRandom random) {
+            LocalDate today = LocalDate.now();
+            long now = System.currentTimeMillis();
+            boolean publishEvents = taskEventPublisher.isEnabled();
+            for (int i = 1; i <= count; i++) {
+                long taskId = taskIds.next();
+                Task.Priority priority = priorities.pick(random);
+                Task.Status status = statuses.pick(random);
+                LocalDate deadline = deadline(random, today);
+                tasks.add(new Object[] {taskId, "Task " + i, priority.name(), status.name(), Date.valueOf(deadline),
+                        userId});
+                if (publishEvents) {
+                    events.add(new TaskEvent(TaskEvent.Type.CREATED, taskId, userId, status, priority, deadline, 0,
+                            now));
+                }
+                int subtaskCount = minSubtasks + random.nextInt(maxSubtasks - minSubtasks + 1);
+                for (int j = 1; j <= subtaskCount; j++) {
+                    subtasks.add(new Object[] {subtaskIds.next(), "Subtask " + j + " for Task " + i,
+                            priorities.pick(random).name(), statuses.pick(random).name(),
+                            Date.valueOf(deadline(random, today)), taskId});
+                }
+                owners.add(userId);
+                if (tasks.size() >= batchSize) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_TASK, tasks);
+                if (!subtasks.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SUBTASK, subtasks);
+                }
+                // Delivered once the batch commits
+                taskEventPublisher.publishAll(List.copyOf(events));
+            });
+            // Lists cached while seeding in the background would otherwise miss these rows
+            owners.forEach(taskCacheKeys::evictUser);
+            progress.tasks.addAndGet(tasks.size());
+            progress.subtasks.addAndGet(subtasks.size());
+            tasks.clear();
+            subtasks.clear();
+            events.clear();
+            owners.clear();
+        }
+    }
+
+    // Hands out ids from blocks of the entity's pooled sequence: one call returns hi and owns (hi - size, hi].
+    // Values below the block size are skipped; Hibernate's optimizer treats the sequence's initial value
+    // specially and may use ids up to hi from that call.
+    private final class IdBlock {
+
+        private final String nextValueSql;
+        private final int blockSize;
+        private long next;
+        private long last = -1;
+
+        IdBlock(Class<?> entity, String sequence) {
+            this.nextValueSql = dialect.getSequenceSupport().getSequenceNextValString(sequence);
+            try {
+                this.blockSize = entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class)
+                        .allocationSize();
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        long next() {
+            if (next > last) {
+                long hi;
+                do {
+                    hi = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+                } while (hi < blockSize);
+                next = hi - blockSize + 1;
+                last = hi;
+            }
+            return next++;
+        }
+    }
+
+    // Picks enum constants with the given relative weights, e.g. "PENDING:6,IN_PROGRESS:2,COMPLETED:1"
+    record Weighted<E extends Enum<E>>(List<E> values, double[] cumulative) {
+
+        static <E extends Enum<E>> Weighted<E> parse(String spec, Class<E> type) {
+            List<E> values = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            for (String entry : spec.split(",")) {
+                String[] pair = entry.trim().split(":");
+                double weight = pair.length > 1 ? Double.parseDouble(pair[1].trim()) : 1;
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight in " + spec);
+                }
+                if (weight > 0) {
+                    values.add(Enum.valueOf(type, pair[0].trim()));
+                    weights.add(weight);
+                }
+            }
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("No positive weight in " + spec);
+            }
+            double[] cumulative = new double[weights.size()];
+            double total = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                total += weights.get(i);
+                cumulative[i] = total;
+            }
+            return new Weighted<>(values, cumulative);
+        }
+
+        E pick(SplittableRandom random) {
+            double point = random.nextDouble() * cumulative[cumulative.length - 1];
+            for (int i = 0; i < cumulative.length; i++) {
+                if (point < cumulative[i]) {
+                    return values.get(i);
+                }
+            }
+            return values.get(values.size() - 1);
+        }
+    }
+}
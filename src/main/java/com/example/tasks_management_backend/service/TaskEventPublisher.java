@@ -0,0 +1,34 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Task;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Publishes task lifecycle events. Inside a transaction nothing is sent until it commits and nothing at all on
+// rollback, so consumers never see a write that did not happen.
+public interface TaskEventPublisher {
+
+    // The event is built after commit, so it carries the version the flush assigned
+    void publish(TaskEvent.Type type, Task task);
+
+    void publishAll(List<TaskEvent> events);
+
+    // False when nobody would receive the events, so callers can skip queries that only feed them
+    boolean isEnabled();
+
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.Task;
+
+import java.time.LocalDate;
+
+// Structured key for a cached getTasks page. The generation is bumped on every write
+// to the owner's tasks, so stale pages become unreachable without touching other users.
+public record TaskListCacheKey(
+        Long userId,
+        long generation,
+        Task.Priority priority,
+        Task.Status status,
+        LocalDate deadlineBefore,
+        String sortBy,
+        String direction,
+        int page,
+        int size) {
+}
@@ -0,0 +1,59 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.OutboxEvent;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Records task events in the outbox table. Must run inside the transaction that changes the task, so the
+// event is committed or rolled back together with it; OutboxRelay publishes it afterwards.
+@Service
+public class TaskOutboxService {
+
+    public static final String TASK_CREATED = "TaskCreated";
+
+    // SNS rejects subjects longer than 100 characters
+    private static final int MAX_SUBJECT_LENGTH = 100;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public TaskOutboxService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public OutboxEvent recordTaskCreated(Task task) {
+        String subject = "High Priority Task Created: " + task.getTitle();
+        if (subject.length() > MAX_SUBJECT_LENGTH) {
+            subject = subject.substring(0, MAX_SUBJECT_LENGTH);
+        }
+        return outboxEventRepository.save(
+                new OutboxEvent(task.getId(), TASK_CREATED, subject, createMessage(task), Instant.now()));
+    }
+
+    private String createMessage(Task task) {
+        Map<String, Object> eventData = new HashMap<>();
+        eventData.put("taskId", task.getId());
+        eventData.put("title", task.getTitle());
+        eventData.put("priority", task.getPriority());
+        eventData.put("status", task.getStatus());
+        eventData.put("deadline", task.getDeadline() != null ? task.getDeadline().toString() : null);
+        if (task.getUser() != null) {
+            eventData.put("assignedUser", task.getUser().getUsername());
+        }
+        try {
+            return objectMapper.writeValueAsString(eventData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event for task " + task.getId(), e);
+        }
+    }
+}
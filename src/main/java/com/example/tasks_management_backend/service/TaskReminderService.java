@@ -1,14 +1,24 @@
 package com.example.tasks_management_backend.service;
 
+import com.example.tasks_management_backend.dto.TaskCompletion;
+import com.example.tasks_management_backend.dto.TaskEvent;
 import com.example.tasks_management_backend.model.Task;
 import com.example.tasks_management_backend.repository.TaskRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class TaskReminderService {
@@ -16,28 +26,96 @@ public class TaskReminderService {
 
     private final TaskRepository taskRepository;
     private final EmailService emailService;
+    private final TaskCacheKeys taskCacheKeys;
+    private final TaskEventPublisher taskEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
 
-    public TaskReminderService(TaskRepository taskRepository, EmailService emailService) {
+    private final Timer sweepTimer;
+    private final Timer chunkTimer;
+    private final Counter completedCounter;
+    // Tasks completed so far by the running sweep (or by the last one, once it has finished)
+    private final AtomicLong sweepProgress = new AtomicLong();
+
+    public TaskReminderService(TaskRepository taskRepository, EmailService emailService, TaskCacheKeys taskCacheKeys,
+            TaskEventPublisher taskEventPublisher, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.task.reminder.chunk-size:500}") int chunkSize) {
         this.taskRepository = taskRepository;
         this.emailService = emailService;
+        this.taskCacheKeys = taskCacheKeys;
+        this.taskEventPublisher = taskEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.sweepTimer = meterRegistry.timer("tasks.reminder.sweep");
+        this.chunkTimer = meterRegistry.timer("tasks.reminder.chunk");
+        this.completedCounter = meterRegistry.counter("tasks.reminder.completed");
+        meterRegistry.gauge("tasks.reminder.sweep.progress", sweepProgress);
     }
 
-    // Run every 2 minutes
-    @Transactional
+    // Run every 2 minutes. Walks the PENDING tasks in id order, one short transaction per chunk: the chunk
+    // is read, completed with one batch of guarded UPDATEs and committed before its emails are handed off, so
+    // neither the transaction nor the heap grows with the backlog.
     @Scheduled(cron = "${app.task.cron}")
     public void markPendingTasksComplete() {
-        List<Task> pendingTasks = taskRepository.findByStatus(Task.Status.PENDING);
+        sweepProgress.set(0);
+        long completed = sweepTimer.record(() -> {
+            long afterId = 0;
+            Chunk chunk;
+            do {
+                long from = afterId;
+                chunk = chunkTimer.record(() -> completeChunk(from));
+                afterId = chunk.lastId();
+                completedCounter.increment(chunk.completed().size());
+                sweepProgress.addAndGet(chunk.completed().size());
+                notifyCompleted(chunk.completed());
+            } while (chunk.read() == chunkSize);
+            return sweepProgress.get();
+        });
+        if (completed > 0) {
+            logger.info("Marked {} pending tasks as COMPLETED", completed);
+        }
+    }
 
-        for (Task task : pendingTasks) {
-            task.setStatus(Task.Status.COMPLETED);
-            taskRepository.save(task);
-            logger.info("Marked task with id={} and title='{}' as COMPLETED", task.getId(), task.getTitle());
+    private Chunk completeChunk(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<TaskCompletion> tasks = taskRepository.findChunkByStatus(Task.Status.PENDING, afterId,
+                    Limit.of(chunkSize));
+            if (tasks.isEmpty()) {
+                return new Chunk(0, afterId, tasks);
+            }
+            // Each row is only updated if it is still PENDING at the version that was read. A task the user
+            // changed since the read (even to COMPLETED) is theirs: it gets no email and no event from the sweep.
+            int[] updated = taskRepository.updateStatusIfUnchanged(tasks, Task.Status.PENDING,
+                    Task.Status.COMPLETED);
+            List<TaskCompletion> completed = new ArrayList<>(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                if (updated[i] == 1) {
+                    completed.add(tasks.get(i));
+                }
+            }
+            completed.stream().map(TaskCompletion::userId).distinct().forEach(taskCacheKeys::evictUser);
+            if (taskEventPublisher.isEnabled()) {
+                long now = System.currentTimeMillis();
+                // updateStatusIfUnchanged bumped each version by one
+                taskEventPublisher.publishAll(completed.stream()
+                        .map(task -> new TaskEvent(TaskEvent.Type.UPDATED, task.id(), task.userId(),
+                                Task.Status.COMPLETED, task.priority(), task.deadline(),
+                                (task.version() != null ? task.version() : 0) + 1, now))
+                        .toList());
+            }
+            return new Chunk(tasks.size(), tasks.get(tasks.size() - 1).id(), completed);
+        });
+    }
 
+    private void notifyCompleted(List<TaskCompletion> tasks) {
+        for (TaskCompletion task : tasks) {
+            logger.debug("Marked task with id={} and title='{}' as COMPLETED", task.id(), task.title());
             // In a real app, we would get the user's email from the task or associated user
             // For this demo, we'll use a placeholder or the source email if configured
-            // emailService.sendTaskCompletedEmail("user@example.com", task.getTitle(),
-            // task.getId());
-            emailService.sendTaskCompletedEmail("recipient@example.com", task.getTitle(), task.getId());
+            emailService.sendTaskCompletedEmail("recipient@example.com", task.title(), task.id());
         }
     }
+
+    private record Chunk(int read, long lastId, List<TaskCompletion> completed) {
+    }
 }
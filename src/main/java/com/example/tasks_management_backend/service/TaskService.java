@@ -1,116 +1,258 @@
 package com.example.tasks_management_backend.service;
 
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import com.example.tasks_management_backend.dto.AttachmentUploadRequest;
+import com.example.tasks_management_backend.dto.CursorPage;
+import com.example.tasks_management_backend.dto.PresignedUrl;
+import com.example.tasks_management_backend.dto.TaskBulkUpdateRequest;
+import com.example.tasks_management_backend.dto.TaskCursor;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskFilter;
+import com.example.tasks_management_backend.dto.TaskView;
+import com.example.tasks_management_backend.dto.UserView;
 import com.example.tasks_management_backend.model.SubTask;
 import com.example.tasks_management_backend.model.Task;
 import com.example.tasks_management_backend.model.User;
 import com.example.tasks_management_backend.repository.SubTaskRepository;
 import com.example.tasks_management_backend.repository.TaskRepository;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class TaskService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+
+    private static final int MAX_BULK_IDS = 1000;
+
     private final TaskRepository taskRepository;
     private final SubTaskRepository subTaskRepository;
     private final UserService userService;
-    private final SnsService snsService;
-    // private final KafkaProducerService kafkaProducerService;
-    private final S3Service s3Service;
+    private final TaskOutboxService taskOutboxService;
+    private final TaskEventPublisher taskEventPublisher;
+    private final AttachmentStorage attachmentStorage;
+    private final TaskCacheKeys taskCacheKeys;
 
     public TaskService(TaskRepository taskRepository, SubTaskRepository subTaskRepository, UserService userService,
-            SnsService snsService, S3Service s3Service /* , KafkaProducerService kafkaProducerService */) {
+            TaskOutboxService taskOutboxService, TaskEventPublisher taskEventPublisher,
+            AttachmentStorage attachmentStorage, TaskCacheKeys taskCacheKeys) {
         this.taskRepository = taskRepository;
         this.subTaskRepository = subTaskRepository;
         this.userService = userService;
-        this.snsService = snsService;
-        this.s3Service = s3Service;
-        // this.kafkaProducerService = kafkaProducerService;
+        this.taskOutboxService = taskOutboxService;
+        this.taskEventPublisher = taskEventPublisher;
+        this.attachmentStorage = attachmentStorage;
+        this.taskCacheKeys = taskCacheKeys;
     }
 
-    @CachePut(value = "tasks", key = "#task.id")
-    @CacheEvict(value = "tasks", allEntries = true)
+    @Transactional
     public Task saveTask(Task task) {
-        task.setUser(userService.getCurrentUser());
+        task.setUser(userService.getCurrentUserReference());
         if (task.getSubtasks() != null) {
             task.getSubtasks().forEach(st -> st.setParentTask(task));
         }
         Task savedTask = taskRepository.save(task);
+        taskCacheKeys.evictUser(task.getUser().getId());
 
         if (savedTask.getPriority() == Task.Priority.HIGH) {
-            snsService.publishTaskCreatedEvent(savedTask);
+            taskOutboxService.recordTaskCreated(savedTask);
         }
-        // kafkaProducerService.sendTaskEvent("task-created", savedTask);
+        taskEventPublisher.publish(TaskEvent.Type.CREATED, savedTask);
 
         return savedTask;
     }
 
     @Transactional
-    @CachePut(value = "tasks", key = "#task.id")
-    @CacheEvict(value = "tasks", allEntries = true)
     public Task updateTask(Task task) {
         Task existingTask = taskRepository.findById(task.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
 
         validateTaskOwnership(existingTask);
 
+        boolean taskChanged = !Objects.equals(existingTask.getTitle(), task.getTitle())
+                || existingTask.getPriority() != task.getPriority()
+                || !Objects.equals(existingTask.getDeadline(), task.getDeadline())
+                || existingTask.getStatus() != task.getStatus();
         existingTask.setTitle(task.getTitle());
         existingTask.setPriority(task.getPriority());
         existingTask.setDeadline(task.getDeadline());
         existingTask.setStatus(task.getStatus());
 
+        SubtaskDiff diff;
         if (task.getSubtasks() != null) {
-            List<Long> incomingIds = task.getSubtasks().stream()
-                    .map(SubTask::getId)
-                    .filter(Objects::nonNull)
-                    .toList();
-
-            existingTask.getSubtasks().removeIf(existingSubTask -> existingSubTask.getId() != null
-                    && !incomingIds.contains(existingSubTask.getId()));
-
-            for (SubTask incomingSubTask : task.getSubtasks()) {
-                if (incomingSubTask.getId() != null) {
-                    existingTask.getSubtasks().stream()
-                            .filter(st -> st.getId().equals(incomingSubTask.getId()))
-                            .findFirst()
-                            .ifPresent(existingSubTask -> {
-                                existingSubTask.setTitle(incomingSubTask.getTitle());
-                                existingSubTask.setPriority(incomingSubTask.getPriority());
-                                existingSubTask.setDeadline(incomingSubTask.getDeadline());
-                                existingSubTask.setStatus(incomingSubTask.getStatus());
-                            });
-                } else {
-                    existingTask.addSubTask(incomingSubTask);
-                }
-            }
+            diff = mergeSubtasks(existingTask, task.getSubtasks());
+            logger.debug("Task {} subtasks: {} inserted, {} updated, {} deleted, {} unchanged", existingTask.getId(),
+                    diff.inserted(), diff.updated(), diff.deleted(), diff.unchanged());
         } else {
+            diff = new SubtaskDiff(0, 0, existingTask.getSubtasks().size(), 0);
             existingTask.getSubtasks().clear();
         }
+        // A resubmission of the current state writes nothing, so there is nothing to evict or announce
+        if (!taskChanged && diff.isEmpty()) {
+            return existingTask;
+        }
 
         Task updatedTask = taskRepository.save(existingTask);
+        taskCacheKeys.evictUser(existingTask.getUser().getId());
 
         if (updatedTask.getPriority() == Task.Priority.HIGH) {
-            snsService.publishTaskCreatedEvent(updatedTask);
+            taskOutboxService.recordTaskCreated(updatedTask);
         }
+        taskEventPublisher.publish(TaskEvent.Type.UPDATED, updatedTask);
 
         return updatedTask;
     }
 
+    // Rows touched by mergeSubtasks; unchanged subtasks keep their version and get no UPDATE
+    public record SubtaskDiff(int inserted, int updated, int deleted, int unchanged) {
+
+        public boolean isEmpty() {
+            return inserted == 0 && updated == 0 && deleted == 0;
+        }
+    }
+
+    // Brings the task's subtasks in line with the incoming list: unknown ids are dropped, known ones updated and
+    // new ones (no id) added. Linear in both lists: existing subtasks are looked up by id, not searched.
+    static SubtaskDiff mergeSubtasks(Task existingTask, List<SubTask> incomingSubtasks) {
+        Set<Long> incomingIds = new HashSet<>(capacity(incomingSubtasks.size()));
+        for (SubTask incomingSubTask : incomingSubtasks) {
+            if (incomingSubTask.getId() != null) {
+                incomingIds.add(incomingSubTask.getId());
+            }
+        }
+
+        List<SubTask> subtasks = existingTask.getSubtasks();
+        int before = subtasks.size();
+        subtasks.removeIf(existingSubTask -> existingSubTask.getId() != null
+                && !incomingIds.contains(existingSubTask.getId()));
+        int deleted = before - subtasks.size();
+
+        Map<Long, SubTask> existingById = new HashMap<>(capacity(subtasks.size()));
+        for (SubTask existingSubTask : subtasks) {
+            if (existingSubTask.getId() != null) {
+                existingById.put(existingSubTask.getId(), existingSubTask);
+            }
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (SubTask incomingSubTask : incomingSubtasks) {
+            if (incomingSubTask.getId() == null) {
+                existingTask.addSubTask(incomingSubTask);
+                inserted++;
+                continue;
+            }
+            SubTask existingSubTask = existingById.get(incomingSubTask.getId());
+            if (existingSubTask == null) {
+                // Not one of this task's subtasks
+                continue;
+            }
+            if (sameContent(existingSubTask, incomingSubTask)) {
+                unchanged++;
+            } else {
+                existingSubTask.setTitle(incomingSubTask.getTitle());
+                existingSubTask.setPriority(incomingSubTask.getPriority());
+                existingSubTask.setDeadline(incomingSubTask.getDeadline());
+                existingSubTask.setStatus(incomingSubTask.getStatus());
+                updated++;
+            }
+        }
+        return new SubtaskDiff(inserted, updated, deleted, unchanged);
+    }
+
+    private static boolean sameContent(SubTask existing, SubTask incoming) {
+        return Objects.equals(existing.getTitle(), incoming.getTitle())
+                && existing.getPriority() == incoming.getPriority()
+                && Objects.equals(existing.getDeadline(), incoming.getDeadline())
+                && existing.getStatus() == incoming.getStatus();
+    }
+
+    // HashMap capacity that holds expected entries without rehashing
+    private static int capacity(int expected) {
+        return (int) (expected / 0.75f) + 1;
+    }
+
+    // Sets status and/or priority on many of the current user's tasks without loading them: one owner-scoped
+    // UPDATE, preceded by a locking projection read of the rows when events are published. Returns the number of
+    // tasks that changed.
+    @Transactional
+    public int updateTasks(TaskBulkUpdateRequest request) {
+        if (request.status() == null && request.priority() == null) {
+            throw new IllegalArgumentException("Nothing to update: status or priority is required");
+        }
+        if ((request.ids() == null) == (request.filter() == null)) {
+            throw new IllegalArgumentException("Exactly one of ids or filter is required");
+        }
+
+        Specification<Task> spec;
+        if (request.ids() != null) {
+            if (request.ids().isEmpty() || request.ids().size() > MAX_BULK_IDS) {
+                throw new IllegalArgumentException("ids must contain between 1 and " + MAX_BULK_IDS + " entries");
+            }
+            // Ids the user does not own simply fall outside the owner condition
+            spec = buildSpecification(null, null, null)
+                    .and((root, query, criteriaBuilder) -> root.get("id").in(request.ids()));
+        } else {
+            TaskFilter filter = request.filter();
+            spec = buildSpecification(filter.priority(), filter.status(), filter.deadlineBefore());
+        }
+
+        int updated;
+        List<TaskEvent> events = List.of();
+        if (taskEventPublisher.isEnabled()) {
+            // The rows are locked and read first (the UPDATE rewrites the very columns that select them), then
+            // the single UPDATE is confined to the locked ids, so rows inserted or changed concurrently cannot
+            // slip in or out between the events and the update
+            events = taskRepository.findBulkUpdateEvents(spec, request.status(), request.priority());
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<Long> lockedIds = events.stream().map(TaskEvent::taskId).toList();
+            updated = taskRepository.updateStatusAndPriority(
+                    spec.and((root, query, criteriaBuilder) -> root.get("id").in(lockedIds)),
+                    request.status(), request.priority());
+        } else {
+            updated = taskRepository.updateStatusAndPriority(spec, request.status(), request.priority());
+        }
+        if (updated > 0) {
+            taskCacheKeys.evictUser(userService.getCurrentUserId());
+            taskEventPublisher.publishAll(events);
+        }
+        return updated;
+    }
+
     public Task getTask(Long id) {
         Task task = taskRepository.findById(id).orElse(null);
         if (task != null) {
@@ -119,7 +261,89 @@ public class TaskService {
         return task;
     }
 
-    @Cacheable(value = "tasks", key = "T(java.util.Objects).hash(#priority, #status, #deadlineBefore, #sortBy, #direction, #page, #size, @userService.currentUser.id)")
+    // Read path for GET /api/tasks: DTO page with subtasks loaded in one batched query
+    @Cacheable(value = "tasks", sync = true, key = "@taskCacheKeys.listKey(#priority, #status, #deadlineBefore, #sortBy, #direction, #page, #size)")
+    public Page<TaskView> getTaskViews(
+            Task.Priority priority,
+            Task.Status status,
+            LocalDate deadlineBefore,
+            String sortBy,
+            String direction,
+            int page,
+            int size) {
+
+        Pageable pageable = PageRequest.of(page, size, buildSort(sortBy, direction));
+
+        return taskRepository.findTaskViews(buildSpecification(priority, status, deadlineBefore), pageable,
+                userService.getCurrentUserView());
+    }
+
+    // Page without a total: skips the count query that findTaskViews runs for every page
+    public Slice<TaskView> getTaskViewSlice(
+            Task.Priority priority,
+            Task.Status status,
+            LocalDate deadlineBefore,
+            String sortBy,
+            String direction,
+            int page,
+            int size) {
+
+        Pageable pageable = PageRequest.of(page, size, buildSort(sortBy, direction));
+
+        return taskRepository.findTaskViewSlice(buildSpecification(priority, status, deadlineBefore), pageable,
+                userService.getCurrentUserView());
+    }
+
+    // Total for a filter, cached per user and dropped with the user's list pages on any write
+    @Cacheable(value = "taskCounts", sync = true, key = "@taskCacheKeys.countKey(#priority, #status, #deadlineBefore)")
+    public long countTasks(Task.Priority priority, Task.Status status, LocalDate deadlineBefore) {
+        return taskRepository.count(buildSpecification(priority, status, deadlineBefore));
+    }
+
+    // Keyset pagination: seeks past the cursor instead of skipping rows, and never counts
+    public CursorPage<TaskView> getTaskViewsAfter(
+            Task.Priority priority,
+            Task.Status status,
+            LocalDate deadlineBefore,
+            String sortBy,
+            String direction,
+            String cursor,
+            int size) {
+
+        TaskSortField field = TaskSortField.from(sortBy);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        Sort.Direction dir = Sort.Direction.fromString(direction != null ? direction : "ASC");
+
+        Specification<Task> spec = buildSpecification(priority, status, deadlineBefore);
+        if (cursor != null && !cursor.isBlank()) {
+            TaskCursor after = TaskCursor.decode(cursor);
+            if (!after.sortBy().equals(field.property()) || !after.direction().equals(dir.name())) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+            // Parsed here rather than in the specification, so a tampered value fails before any query is built
+            Comparable<Object> afterValue = after.typedValue(field.javaType());
+            spec = spec.and(seekAfter(field, dir, afterValue, after.id()));
+        }
+
+        // One extra row tells us whether there is a next page
+        List<TaskView> rows = taskRepository.findTaskViews(spec, field.sort(dir), size + 1,
+                userService.getCurrentUserView());
+        boolean hasNext = rows.size() > size;
+        List<TaskView> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TaskView last = content.get(content.size() - 1);
+            Object value = sortValue(last, field);
+            nextCursor = new TaskCursor(field.property(), dir.name(), value != null ? value.toString() : null,
+                    last.id()).encode();
+        }
+        return new CursorPage<>(List.copyOf(content), size, hasNext, nextCursor);
+    }
+
+    // Entity page for callers that need managed Task instances
     public Page<Task> getTasks(
             Task.Priority priority,
             Task.Status status,
@@ -129,16 +353,52 @@ public class TaskService {
             int page,
             int size) {
 
-        Sort sort = Sort.by(Sort.Direction.fromString(direction != null ? direction : "ASC"),
-                sortBy != null ? sortBy : "id");
+        Pageable pageable = PageRequest.of(page, size, buildSort(sortBy, direction));
+
+        return taskRepository.findAll(buildSpecification(priority, status, deadlineBefore), pageable);
+    }
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+    private Sort buildSort(String sortBy, String direction) {
+        return TaskSortField.from(sortBy).sort(Sort.Direction.fromString(direction != null ? direction : "ASC"));
+    }
 
+    private static Object sortValue(TaskView task, TaskSortField field) {
+        return switch (field) {
+            case TITLE -> task.title();
+            case PRIORITY -> task.priority() != null ? task.priority().name() : null;
+            case DEADLINE -> task.deadline();
+            case STATUS -> task.status() != null ? task.status().name() : null;
+            case ID -> task.id();
+        };
+    }
+
+    // Rows strictly after the cursor in TaskSortField order, where nulls rank below every value
+    private static Specification<Task> seekAfter(TaskSortField field, Sort.Direction dir, Comparable<Object> value,
+            Long afterId) {
+        return (root, query, cb) -> {
+            Expression<Long> id = root.get("id");
+            Predicate idAfter = dir.isAscending() ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            if (field == TaskSortField.ID) {
+                return idAfter;
+            }
+            Expression<Comparable<Object>> path = root.get(field.property());
+            if (value == null) {
+                Predicate nullsAfter = cb.and(cb.isNull(path), idAfter);
+                return dir.isAscending() ? cb.or(nullsAfter, cb.isNotNull(path)) : nullsAfter;
+            }
+            Predicate beyond = dir.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+            Predicate seek = cb.or(beyond, cb.and(cb.equal(path, value), idAfter));
+            return dir.isAscending() ? seek : cb.or(seek, cb.isNull(path));
+        };
+    }
+
+    Specification<Task> buildSpecification(Task.Priority priority, Task.Status status,
+            LocalDate deadlineBefore) {
         Specification<Task> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
         // Filter by current user
         spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("user"),
-                userService.getCurrentUser()));
+                userService.getCurrentUserReference()));
 
         if (priority != null) {
             spec = spec.and((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("priority"), priority));
@@ -151,16 +411,17 @@ public class TaskService {
                     (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("deadline"), deadlineBefore));
         }
 
-        return taskRepository.findAll(spec, pageable);
+        return spec;
     }
 
     @Transactional
-    @CacheEvict(value = "tasks", allEntries = true)
     public void deleteTask(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id " + id));
         validateTaskOwnership(task);
         taskRepository.delete(task);
+        taskCacheKeys.evictUser(task.getUser().getId());
+        taskEventPublisher.publish(TaskEvent.Type.DELETED, task);
     }
 
     @Transactional()
@@ -178,7 +439,9 @@ public class TaskService {
         validateTaskOwnership(parent);
 
         subTask.setParentTask(parent);
-        return subTaskRepository.save(subTask);
+        SubTask saved = subTaskRepository.save(subTask);
+        taskCacheKeys.evictUser(parent.getUser().getId());
+        return saved;
     }
 
     @Transactional
@@ -193,7 +456,9 @@ public class TaskService {
         existingSubTask.setStatus(updatedSubTask.getStatus());
         existingSubTask.setDeadline(updatedSubTask.getDeadline());
 
-        return subTaskRepository.save(existingSubTask);
+        SubTask saved = subTaskRepository.save(existingSubTask);
+        taskCacheKeys.evictUser(existingSubTask.getParentTask().getUser().getId());
+        return saved;
     }
 
     @Transactional
@@ -210,6 +475,7 @@ public class TaskService {
                 .orElseThrow(() -> new EntityNotFoundException("SubTask not found with id: " + subTaskId));
         validateTaskOwnership(subTask.getParentTask());
         subTaskRepository.deleteById(subTaskId);
+        taskCacheKeys.evictUser(subTask.getParentTask().getUser().getId());
     }
 
     public Task uploadAttachment(Long taskId, MultipartFile file) {
@@ -219,17 +485,123 @@ public class TaskService {
         // Security check: ensure current user owns the task
         validateTaskOwnership(task);
 
-        String attachmentUrl = s3Service.uploadFile(file);
-        task.setAttachmentUrl(attachmentUrl);
-        return taskRepository.save(task);
+        try {
+            AttachmentUpload upload = attachmentStorage.store(newAttachmentKey(taskId, file.getOriginalFilename()),
+                    file.getInputStream(), file.getContentType());
+            task.setAttachmentUrl(upload.url());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store attachment", e);
+        }
+        Task saved = taskRepository.save(task);
+        taskCacheKeys.evictUser(task.getUser().getId());
+        return saved;
+    }
+
+    // Streams the body to storage without holding a connection or transaction while it uploads. Ownership and
+    // the declared length are checked before the first byte is read, so rejected uploads cost nothing.
+    public AttachmentUpload streamAttachment(Long taskId, InputStream body, String filename, String contentType,
+            long contentLength) throws IOException {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateTaskOwnership(task);
+        if (contentLength > attachmentStorage.getMaxUploadBytes()) {
+            throw new MaxUploadSizeExceededException(attachmentStorage.getMaxUploadBytes());
+        }
+
+        AttachmentUpload upload = attachmentStorage.store(newAttachmentKey(taskId, filename), body, contentType);
+        task.setAttachmentUrl(upload.url());
+        taskRepository.save(task);
+        taskCacheKeys.evictUser(task.getUser().getId());
+        return upload;
+    }
+
+    // Presigned flow: the client PUTs the file to storage itself, then calls completeAttachmentUpload. Keys are
+    // scoped to the task so a completion can only attach objects that were issued for that task.
+    public PresignedUrl createAttachmentUpload(Long taskId, AttachmentUploadRequest request) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateTaskOwnership(task);
+        if (!attachmentStorage.supportsPresignedUrls()) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "Direct uploads are not available with this attachment storage");
+        }
+        if (request.filename() == null || request.filename().isBlank()) {
+            throw new IllegalArgumentException("filename is required");
+        }
+        if (request.size() == null || request.size() < 1) {
+            throw new IllegalArgumentException("size must be a positive number of bytes");
+        }
+        if (request.size() > attachmentStorage.getMaxUploadBytes()) {
+            throw new MaxUploadSizeExceededException(attachmentStorage.getMaxUploadBytes());
+        }
+
+        String contentType = request.contentType() != null && !request.contentType().isBlank()
+                ? request.contentType() : "application/octet-stream";
+        return attachmentStorage.presignUpload(newAttachmentKey(taskId, request.filename()), contentType,
+                request.size());
+    }
+
+    public Task completeAttachmentUpload(Long taskId, String key) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateTaskOwnership(task);
+        if (key == null || !key.startsWith(attachmentKeyPrefix(taskId)) || key.contains("..")) {
+            throw new IllegalArgumentException("Key was not issued for this task");
+        }
+        if (attachmentStorage.objectSize(key) == null) {
+            throw new IllegalArgumentException("No uploaded object found for key");
+        }
+
+        task.setAttachmentUrl(attachmentStorage.urlOf(key));
+        Task saved = taskRepository.save(task);
+        taskCacheKeys.evictUser(task.getUser().getId());
+        return saved;
+    }
+
+    // Stores without presigned URLs are downloaded through this application instead
+    public PresignedUrl createAttachmentDownload(Long taskId) {
+        String key = attachmentKey(taskId);
+        if (!attachmentStorage.supportsPresignedUrls()) {
+            return new PresignedUrl(key, "GET", "/api/tasks/" + taskId + "/attachment/content", null, null);
+        }
+        return attachmentStorage.presignDownload(key);
+    }
+
+    // The attachment file when the storage keeps it on this machine, null when it has to be fetched elsewhere
+    public Path getAttachmentFile(Long taskId) {
+        Path file = attachmentStorage.localPath(attachmentKey(taskId));
+        if (file != null && !Files.isRegularFile(file)) {
+            throw new EntityNotFoundException("Attachment file is missing for task: " + taskId);
+        }
+        return file;
+    }
+
+    private String attachmentKey(Long taskId) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateTaskOwnership(task);
+        String key = attachmentStorage.keyOf(task.getAttachmentUrl());
+        if (key == null) {
+            throw new EntityNotFoundException("Task has no stored attachment: " + taskId);
+        }
+        return key;
+    }
+
+    private static String newAttachmentKey(Long taskId, String filename) {
+        String name = filename != null ? filename.replaceAll("[/\\\\]", "_") : "attachment";
+        return attachmentKeyPrefix(taskId) + UUID.randomUUID() + "_" + name;
+    }
+
+    private static String attachmentKeyPrefix(Long taskId) {
+        return "tasks/" + taskId + "/";
     }
 
     private void validateTaskOwnership(Task task) {
-        User currentUser = userService.getCurrentUser();
-        if (!task.getUser().getId().equals(currentUser.getId())) {
+        Long currentUserId = userService.getCurrentUserId();
+        if (!task.getUser().getId().equals(currentUserId)) {
             org.slf4j.LoggerFactory.getLogger(TaskService.class).error(
                     "Access denied. Task owner ID: {}, Current user ID: {}", task.getUser().getId(),
-                    currentUser.getId());
+                    currentUserId);
             throw new org.springframework.security.access.AccessDeniedException(
                     "You do not have permission to access this task");
         }
@@ -0,0 +1,58 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.Task;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Fields GET /api/tasks may sort by. Each maps to a (field, id) ordering backed by one of the
+// (user_id, field, id) indexes on the tasks table.
+public enum TaskSortField {
+    ID("id", Long.class),
+    TITLE("title", String.class),
+    PRIORITY("priority", Task.Priority.class),
+    DEADLINE("deadline", LocalDate.class),
+    STATUS("status", Task.Status.class);
+
+    private final String property;
+    private final Class<?> javaType;
+
+    TaskSortField(String property, Class<?> javaType) {
+        this.property = property;
+        this.javaType = javaType;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    // Type of the Task attribute, which cursor values are parsed back into
+    public Class<?> javaType() {
+        return javaType;
+    }
+
+    public static TaskSortField from(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return ID;
+        }
+        for (TaskSortField field : values()) {
+            if (field.property.equalsIgnoreCase(sortBy)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sortBy '" + sortBy + "'. Allowed values: "
+                + Arrays.stream(values()).map(TaskSortField::property).collect(Collectors.joining(", ")));
+    }
+
+    // Nulls sort as the lowest value (first ascending, last descending), which is also the order the
+    // index keeps them in, so the database never has to re-sort to place them
+    public Sort sort(Sort.Direction direction) {
+        if (this == ID) {
+            return Sort.by(direction, "id");
+        }
+        Sort.NullHandling nulls = direction.isAscending() ? Sort.NullHandling.NULLS_FIRST : Sort.NullHandling.NULLS_LAST;
+        return Sort.by(new Sort.Order(direction, property, nulls), new Sort.Order(direction, "id"));
+    }
+}
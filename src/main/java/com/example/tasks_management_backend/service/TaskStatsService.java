@@ -0,0 +1,156 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskStats;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.TaskProjection;
+import com.example.tasks_management_backend.model.UserTaskStats;
+import com.example.tasks_management_backend.repository.TaskProjectionRepository;
+import com.example.tasks_management_backend.repository.UserTaskStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Read model behind GET /api/tasks/stats. Task lifecycle events are folded into per-user counts, so the
+// dashboard never scans the tasks table. Applying a batch is idempotent: events a task has already moved past
+// are skipped, which makes redelivery after a crash or rebalance harmless.
+@Service
+public class TaskStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final Set<Task.Status> CLOSED = Set.of(Task.Status.COMPLETED, Task.Status.CANCELLED);
+
+    private final TaskProjectionRepository projectionRepository;
+    private final UserTaskStatsRepository statsRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    private final Counter appliedCounter;
+    private final Counter skippedCounter;
+    private final Timer lagTimer;
+
+    public TaskStatsService(TaskProjectionRepository projectionRepository, UserTaskStatsRepository statsRepository,
+            UserService userService, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            ObjectProvider<LocalTaskEventPublisher> localPublisher,
+            @Value("${app.events.stats.max-attempts:5}") int maxAttempts) {
+        this.projectionRepository = projectionRepository;
+        this.statsRepository = statsRepository;
+        this.userService = userService;
+        // Local events arrive in the afterCommit callback of the writing transaction, so a new one is needed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.appliedCounter = meterRegistry.counter("tasks.stats.applied");
+        this.skippedCounter = meterRegistry.counter("tasks.stats.skipped");
+        this.lagTimer = meterRegistry.timer("tasks.stats.lag");
+        localPublisher.ifAvailable(publisher -> publisher.subscribe(this::apply));
+    }
+
+    public TaskStats getCurrentUserStats() {
+        return getStats(userService.getCurrentUserId());
+    }
+
+    public TaskStats getStats(Long userId) {
+        UserTaskStats stats = statsRepository.findById(userId).orElseGet(() -> new UserTaskStats(userId));
+        LocalDate today = LocalDate.now();
+        return new TaskStats(
+                stats.getTotal(),
+                stats.byStatus(),
+                stats.byPriority(),
+                projectionRepository.countOverdue(userId, today, CLOSED),
+                projectionRepository.findNextDeadline(userId, today, CLOSED));
+    }
+
+    // Applies a batch of events in one transaction and returns how many changed the model. A batch that loses
+    // a race on the same task, or on creating a user's row, is rolled back and applied again from scratch.
+    public int apply(List<TaskEvent> events) {
+        List<TaskEvent> valid = events.stream()
+                .filter(Objects::nonNull)
+                .filter(event -> event.taskId() != null && event.userId() != null && event.type() != null)
+                .toList();
+        if (valid.size() < events.size()) {
+            logger.warn("Ignoring {} malformed task events", events.size() - valid.size());
+        }
+        if (valid.isEmpty()) {
+            return 0;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int applied = transactionTemplate.execute(status -> applyBatch(valid));
+                appliedCounter.increment(applied);
+                skippedCounter.increment(valid.size() - applied);
+                long now = System.currentTimeMillis();
+                valid.forEach(event -> lagTimer.record(Duration.ofMillis(Math.max(0, now - event.occurredAt()))));
+                return applied;
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.debug("Concurrent stats update, applying {} events again (attempt {})", valid.size(),
+                        attempt + 1);
+            }
+        }
+    }
+
+    private int applyBatch(List<TaskEvent> events) {
+        Map<Long, TaskProjection> projections = new HashMap<>();
+        projectionRepository.findAllById(events.stream().map(TaskEvent::taskId).distinct().toList())
+                .forEach(projection -> projections.put(projection.getTaskId(), projection));
+        // Deltas per user, applied in user order so two batches never lock the same rows in opposite order
+        Map<Long, UserTaskStats> deltas = new TreeMap<>();
+
+        List<TaskProjection> changed = new ArrayList<>();
+        for (TaskEvent event : events) {
+            TaskProjection projection = projections.get(event.taskId());
+            if (projection == null) {
+                projection = TaskProjection.of(event);
+                projections.put(event.taskId(), projection);
+            } else if (projection.isOlderThan(event)) {
+                if (!projection.isDeleted()) {
+                    statsFor(deltas, projection.getUserId()).count(projection.getStatus(), projection.getPriority(),
+                            -1);
+                }
+                projection.apply(event);
+            } else {
+                continue;
+            }
+            if (!projection.isDeleted()) {
+                statsFor(deltas, projection.getUserId()).count(projection.getStatus(), projection.getPriority(), 1);
+            }
+            changed.add(projection);
+        }
+        projectionRepository.saveAll(changed);
+        for (UserTaskStats delta : deltas.values()) {
+            if (statsRepository.addCounts(delta) == 0) {
+                statsRepository.save(delta);
+            }
+        }
+        return changed.size();
+    }
+
+    private static UserTaskStats statsFor(Map<Long, UserTaskStats> deltas, Long userId) {
+        return deltas.computeIfAbsent(userId, UserTaskStats::new);
+    }
+}
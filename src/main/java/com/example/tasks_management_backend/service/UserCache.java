@@ -0,0 +1,67 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.UserSnapshot;
+import com.example.tasks_management_backend.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+// Resolves users by username with a per-request memo in front of the short-lived "users" cache,
+// so the JWT filter, cache key evaluation and ownership checks share a single lookup. Both hold
+// immutable snapshots, never the entity.
+@Component
+public class UserCache {
+
+    public static final String CACHE_NAME = "users";
+
+    private static final String REQUEST_ATTRIBUTE = UserCache.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+    private final CacheInvalidationBus invalidationBus;
+
+    public UserCache(UserRepository userRepository, CacheManager cacheManager, CacheInvalidationBus invalidationBus) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CACHE_NAME, message -> cache.evict(message.key()));
+    }
+
+    public Optional<UserSnapshot> findByUsername(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof UserSnapshot memo
+                && memo.username().equals(username)) {
+            return Optional.of(memo);
+        }
+
+        UserSnapshot user = cache.get(username, UserSnapshot.class);
+        if (user == null) {
+            user = userRepository.findByUsername(username).map(UserSnapshot::from).orElse(null);
+            if (user == null) {
+                return Optional.empty();
+            }
+            cache.put(username, user);
+        }
+
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(user);
+    }
+
+    // Must be called whenever a user's registration, credentials or roles change
+    public void evict(String username) {
+        cache.evict(username);
+        invalidationBus.publishKey(CACHE_NAME, username);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
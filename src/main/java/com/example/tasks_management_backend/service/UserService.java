@@ -1,5 +1,7 @@
 package com.example.tasks_management_backend.service;
 
+import com.example.tasks_management_backend.dto.UserSnapshot;
+import com.example.tasks_management_backend.dto.UserView;
 import com.example.tasks_management_backend.model.Role;
 import com.example.tasks_management_backend.model.User;
 import com.example.tasks_management_backend.model.UserRegistrationRequest;
@@ -17,10 +19,12 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserCache userCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     public boolean existsByUsername(String username) {
@@ -36,16 +40,45 @@ public class UserService {
         // Assign default role
         user.setRoles(Set.of(Role.ROLE_USER));
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(saved.getUsername());
+        return saved;
     }
 
-    public User getCurrentUser() {
+    // The current user's public details, looked up by username through the cache
+    public UserView getCurrentUserView() {
+        return UserView.from(findUser(currentAuthentication()));
+    }
+
+    // The JWT filter's principal carries the id, so owner checks and cache keys need no lookup
+    public Long getCurrentUserId() {
+        Authentication authentication = currentAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return findUser(authentication).id();
+    }
+
+    // For owner associations and predicates, which only need the id: an uninitialized proxy, nothing is read
+    public User getCurrentUserReference() {
+        Authentication authentication = currentAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return userRepository.getReferenceById(findUser(authentication).id());
+    }
+
+    private static Authentication currentAuthentication() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("No authenticated user found");
         }
+        return authentication;
+    }
+
+    private UserSnapshot findUser(Authentication authentication) {
         String username = authentication.getName();
-        return userRepository.findByUsername(username)
+        return userCache.findByUsername(username)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
     }
 }
\ No newline at end of file
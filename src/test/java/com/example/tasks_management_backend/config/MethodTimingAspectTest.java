@@ -0,0 +1,132 @@
+package com.example.tasks_management_backend.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.service.JwtUtil;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodTimingAspectTest {
+
+    private final UserDetails userDetails = User.withUsername("testuser")
+            .password("password")
+            .authorities("ROLE_USER")
+            .build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private MethodTimingAspect aspect;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new MethodTimingAspect(meterRegistry, 1.0, true, List.of());
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new JwtUtil("test-secret-key-that-is-long-enough-for-hs256", 60_000, 100));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        jwtUtil = factory.getProxy();
+    }
+
+    @Test
+    void time_RecordsLatencyTaggedByLayerClassAndMethod() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.extractUsername(token);
+        jwtUtil.extractUsername(token);
+
+        Timer timer = meterRegistry.get(MethodTimingAspect.TIMER)
+                .tags("layer", "service", "class", "JwtUtil", "method", "extractUsername", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.get(MethodTimingAspect.TIMER).tag("method", "generateToken").timer().count());
+    }
+
+    @Test
+    void time_TagsFailuresWithTheExceptionType() {
+        // JwtUtil rethrows parse failures as RuntimeException
+        assertThrows(RuntimeException.class, () -> jwtUtil.extractUsername("not-a-token"));
+
+        Timer failures = meterRegistry.get(MethodTimingAspect.TIMER)
+                .tags("method", "extractUsername", "exception", "RuntimeException")
+                .timer();
+        assertEquals(1, failures.count());
+    }
+
+    @Test
+    void time_LogsEveryFailureWithoutArguments() {
+        aspect.setLogSampleRate(0);
+        Logger logger = (Logger) LoggerFactory.getLogger(MethodTimingAspect.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            assertThrows(RuntimeException.class, () -> jwtUtil.extractUsername("not-a-token"));
+            assertThrows(RuntimeException.class, () -> jwtUtil.extractUsername("not-a-token"));
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertEquals(2, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().startsWith("JwtUtil.extractUsername threw java.lang.RuntimeException"),
+                event.getFormattedMessage());
+        assertFalse(event.getFormattedMessage().contains("not-a-token"), event.getFormattedMessage());
+    }
+
+    @Test
+    void setPackageEnabled_StopsAndResumesTimingAtRuntime() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.extractUsername(token);
+
+        aspect.setPackageEnabled("com.example.tasks_management_backend.service", false);
+        jwtUtil.extractUsername(token);
+        assertEquals(Map.of("JwtUtil.extractUsername", false, "JwtUtil.generateToken", false),
+                aspect.getMethodStates());
+
+        // The more specific package wins
+        aspect.setPackageEnabled("com.example.tasks_management_backend.service.JwtUtil", true);
+        jwtUtil.extractUsername(token);
+        aspect.resetPackage("com.example.tasks_management_backend.service.JwtUtil");
+        jwtUtil.extractUsername(token);
+        aspect.resetPackage("com.example.tasks_management_backend.service");
+        jwtUtil.extractUsername(token);
+
+        assertEquals(3, meterRegistry.get(MethodTimingAspect.TIMER)
+                .tags("method", "extractUsername", "exception", "none").timer().count());
+    }
+
+    @Test
+    void summarize_ShowsValuesButOnlyTheShapeOfObjects() {
+        assertEquals("[42, \"abc\", null, HIGH]", MethodTimingAspect.summarize(
+                new Object[] {42L, "abc", null, Task.Priority.HIGH}));
+        assertEquals("\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa...\"(100 chars)", MethodTimingAspect.summarize("a".repeat(100)));
+        assertEquals("ListN[size=3]", MethodTimingAspect.summarize(List.of(1, 2, 3)));
+        assertEquals("PageImpl[size=2]", MethodTimingAspect.summarize(new PageImpl<>(List.of("a", "b"))));
+        assertEquals("byte[16]", MethodTimingAspect.summarize(new byte[16]));
+        assertEquals("Optional[User]", MethodTimingAspect.summarize(Optional.of(userDetails)));
+    }
+
+    @Test
+    void setLogSampleRate_RejectsRatesOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> aspect.setLogSampleRate(1.5));
+        aspect.setLogSampleRate(0);
+        assertEquals(0, aspect.getLogSampleRate());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.tasks_management_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(dir.resolve("report.pdf"), content);
+    }
+
+    @Test
+    void write_ServesTheWholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("100", response.getHeader("Content-Length"));
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals("attachment; filename=\"report.pdf\"", response.getHeader("Content-Disposition"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void write_ServesActiveContentAsADownload() throws Exception {
+        Path page = Files.writeString(dir.resolve("abc_page.html"), "<script>alert(1)</script>");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileDownloadWriter.write(page, new MockHttpServletRequest("GET", "/"), response);
+
+        assertEquals("attachment; filename=\"abc_page.html\"", response.getHeader("Content-Disposition"));
+    }
+
+    @Test
+    void write_ServesRequestedRange() throws Exception {
+        MockHttpServletResponse response = download(range("bytes=10-19"));
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 10-19/100", response.getHeader("Content-Range"));
+        assertEquals("10", response.getHeader("Content-Length"));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getContentAsByteArray());
+
+        assertEquals("bytes 95-99/100", download(range("bytes=-5")).getHeader("Content-Range"));
+        assertEquals("bytes 90-99/100", download(range("bytes=90-")).getHeader("Content-Range"));
+        assertEquals("bytes 90-99/100", download(range("bytes=90-500")).getHeader("Content-Range"));
+    }
+
+    @Test
+    void write_RejectsUnsatisfiableRangeAndIgnoresOthers() throws Exception {
+        MockHttpServletResponse unsatisfiable = download(range("bytes=100-"));
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */100", unsatisfiable.getHeader("Content-Range"));
+
+        // Several ranges or a stale If-Range fall back to the full file
+        assertEquals(200, download(range("bytes=0-1,5-6")).getStatus());
+        MockHttpServletRequest stale = range("bytes=0-9");
+        stale.addHeader("If-Range", "\"outdated\"");
+        assertEquals(100, download(stale).getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_AnswersConditionalRequestWithNotModified() throws Exception {
+        String etag = download(new MockHttpServletRequest("GET", "/")).getHeader("ETag");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", etag);
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_HandsTheFileToTheConnectorWhenSendfileIsAvailable() throws Exception {
+        MockHttpServletRequest request = range("bytes=10-19");
+        request.setAttribute(FileDownloadWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(FileDownloadWriter.SENDFILE_FILENAME));
+        assertEquals(10L, request.getAttribute(FileDownloadWriter.SENDFILE_START));
+        assertEquals(20L, request.getAttribute(FileDownloadWriter.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletRequest range(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", range);
+        return request;
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileDownloadWriter.write(file, request, response);
+        return response;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.tasks_management_backend.controller;
 
 import com.example.tasks_management_backend.dto.TaskRequest;
+import com.example.tasks_management_backend.dto.TaskStats;
 import com.example.tasks_management_backend.model.Task;
 import com.example.tasks_management_backend.service.JwtUtil;
 import com.example.tasks_management_backend.service.TaskService;
+import com.example.tasks_management_backend.service.TaskStatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,10 +22,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -38,6 +45,9 @@ class TaskControllerIntegrationTest {
         @MockBean
         private TaskService taskService;
 
+        @MockBean
+        private TaskStatsService taskStatsService;
+
         @MockBean
         private MyUserDetailsService myUserDetailsService;
 
@@ -82,7 +92,7 @@ class TaskControllerIntegrationTest {
 
         @Test
         void getTasks_Success() throws Exception {
-                when(taskService.getTasks(any(), any(), any(), any(), any(), any(Integer.class), any(Integer.class)))
+                when(taskService.getTaskViews(any(), any(), any(), any(), any(), any(Integer.class), any(Integer.class)))
                                 .thenReturn(org.springframework.data.domain.Page.empty());
 
                 mockMvc.perform(get("/api/tasks")
@@ -91,6 +101,52 @@ class TaskControllerIntegrationTest {
                                 .andExpect(jsonPath("$.success").value(true));
         }
 
+        @Test
+        void getTasks_SliceModeWithTotal() throws Exception {
+                when(taskService.getTaskViewSlice(any(), any(), any(), any(), any(), any(Integer.class),
+                                any(Integer.class)))
+                                .thenReturn(new org.springframework.data.domain.SliceImpl<>(java.util.List.of(),
+                                                org.springframework.data.domain.PageRequest.of(0, 10), true));
+                when(taskService.countTasks(any(), any(), any())).thenReturn(42L);
+
+                mockMvc.perform(get("/api/tasks")
+                                .param("mode", "SLICE")
+                                .param("includeTotal", "true")
+                                .header("Authorization", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.hasNext").value(true))
+                                .andExpect(jsonPath("$.data.approximateTotal").value(42));
+        }
+
+        @Test
+        void updateTasks_ByFilter() throws Exception {
+                when(taskService.updateTasks(any())).thenReturn(7);
+
+                mockMvc.perform(patch("/api/tasks/bulk")
+                                .header("Authorization", token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"status\":\"PENDING\",\"deadlineBefore\":\"2030-01-01\"},"
+                                                + "\"status\":\"COMPLETED\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.updated").value(7));
+        }
+
+        @Test
+        void getStats_ServedFromReadModel() throws Exception {
+                when(taskStatsService.getCurrentUserStats()).thenReturn(new TaskStats(3,
+                                Map.of(Task.Status.PENDING, 2L, Task.Status.COMPLETED, 1L), Map.of(Task.Priority.HIGH, 3L),
+                                1, LocalDate.of(2030, 1, 15)));
+
+                mockMvc.perform(get("/api/tasks/stats")
+                                .header("Authorization", token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.total").value(3))
+                                .andExpect(jsonPath("$.data.byStatus.PENDING").value(2))
+                                .andExpect(jsonPath("$.data.overdue").value(1))
+                                .andExpect(jsonPath("$.data.nextDeadline").value("2030-01-15"));
+                verify(taskService, never()).getTasks(any(), any(), any(), any(), any(), anyInt(), anyInt());
+        }
+
         @Test
         void unauthorizedAccess_Forbidden() throws Exception {
                 mockMvc.perform(get("/api/tasks"))
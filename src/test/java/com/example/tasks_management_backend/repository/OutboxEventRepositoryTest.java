@@ -0,0 +1,63 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Instant now = Instant.parse("2030-01-01T12:00:00Z");
+
+    @Test
+    void findPublishable_ReturnsOnlyTheOldestEventOfEachTask() {
+        OutboxEvent first = save(1L);
+        OutboxEvent second = save(1L);
+        OutboxEvent other = save(2L);
+
+        assertEquals(List.of(first.getId(), other.getId()), ids(outboxEventRepository.findPublishable(now,
+                Limit.of(10))));
+
+        outboxEventRepository.deleteAllByIdInBatch(List.of(first.getId()));
+        assertEquals(List.of(second.getId(), other.getId()), ids(outboxEventRepository.findPublishable(now,
+                Limit.of(10))));
+    }
+
+    @Test
+    void findPublishable_HoldsBackATaskWhileItsEarlierEventWaitsForRetry() {
+        OutboxEvent failed = save(1L);
+        save(1L);
+        OutboxEvent other = save(2L);
+
+        outboxEventRepository.reschedule(List.of(failed.getId()), now.plusSeconds(30));
+        entityManager.clear();
+
+        assertEquals(List.of(other.getId()), ids(outboxEventRepository.findPublishable(now, Limit.of(10))));
+        List<OutboxEvent> later = outboxEventRepository.findPublishable(now.plusSeconds(31), Limit.of(10));
+        assertEquals(List.of(failed.getId(), other.getId()), ids(later));
+        assertEquals(1, later.get(0).getAttempts());
+    }
+
+    private OutboxEvent save(Long taskId) {
+        return entityManager.persistFlushFind(
+                new OutboxEvent(taskId, "TaskCreated", "Subject", "{}", now.minusSeconds(60)));
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
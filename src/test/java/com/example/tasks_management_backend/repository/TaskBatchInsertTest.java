@@ -0,0 +1,64 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskBatchInsertTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_SendsInsertsAsJdbcBatches() {
+        User owner = entityManager.persistAndFlush(new User("owner", "password", Set.of(Role.ROLE_USER)));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.MEDIUM);
+            task.setStatus(Task.Status.PENDING);
+            task.setUser(owner);
+            for (int j = 0; j < 3; j++) {
+                SubTask subTask = new SubTask();
+                subTask.setTitle("Subtask " + j);
+                subTask.setPriority(Task.Priority.LOW);
+                subTask.setStatus(Task.Status.PENDING);
+                task.addSubTask(subTask);
+            }
+            tasks.add(task);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+
+        assertEquals(480, statistics.getEntityInsertCount());
+        // 480 rows: a handful of pooled sequence calls plus one statement per batch of 50, not one per row
+        assertTrue(statistics.getPrepareStatementCount() <= 25,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+        assertTrue(tasks.stream().allMatch(task -> task.getId() != null));
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.dto.UserView;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import com.example.tasks_management_backend.service.TaskSortField;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the SQL Hibernate generates for the task list and reminder queries through H2's EXPLAIN, so an
+// index or ordering change that falls back to a table scan or a sort the index cannot serve fails the
+// build. Criteria values are inlined so the captured statements can be explained as they were issued.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.tasks_management_backend.repository.TaskIndexPlanTest$CapturingInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+class TaskIndexPlanTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SubTaskRepository subTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        // ANALYZE commits, so the seed data outlives the test transaction and is only inserted once
+        if (entityManager.createQuery("SELECT COUNT(u) FROM User u", Long.class).getSingleResult() == 0) {
+            seed();
+        }
+        owner = entityManager.createQuery("SELECT u FROM User u WHERE u.username = 'user1'", User.class)
+                .getSingleResult();
+        CapturingInspector.statements.clear();
+    }
+
+    // Enough rows across enough owners that the planner's costs favour the indexes
+    private void seed() {
+        entityManager.createNativeQuery("INSERT INTO users(username, password) "
+                + "SELECT 'user' || x, 'password' FROM SYSTEM_RANGE(1, 20)").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO tasks(id, title, priority, status, deadline, user_id, version) "
+                + "SELECT x, 'Task ' || x, "
+                + "CASEWHEN(MOD(x, 3) = 0, 'LOW', CASEWHEN(MOD(x, 3) = 1, 'MEDIUM', 'HIGH')), "
+                + "CASEWHEN(MOD(x, 2) = 0, 'PENDING', 'COMPLETED'), "
+                + "CASEWHEN(MOD(x, 10) = 0, NULL, DATEADD(DAY, MOD(x, 400), DATE '2030-01-01')), "
+                + "(SELECT MIN(id) FROM users) + MOD(x, 20), 0 "
+                + "FROM SYSTEM_RANGE(1, 4000)").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO subtasks(id, title, priority, status, task_id, version) "
+                + "SELECT x, 'Subtask ' || x, 'LOW', 'PENDING', MOD(x, 4000) + 1, 0 "
+                + "FROM SYSTEM_RANGE(1, 12000)").executeUpdate();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    // The committed seed would otherwise stay behind for whichever test next shares this database
+    @AfterAll
+    static void deleteSeed(@Autowired DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM subtasks");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    // H2 does not choose the (user_id, field, id) indexes on its own: it adds a single-column index for the
+    // user_id foreign key and, as no index covers the selected columns, costs that one lowest for every owner
+    // query. The hint pins each composite to check it can deliver the ORDER BY as issued, which is how
+    // planners that pick it (PostgreSQL, MySQL) read the page. H2 only reads indexes forwards, so the
+    // descending sorts, which those planners serve with a backward scan, are not checked here.
+    @Test
+    void everySortFieldMatchesItsIndexOrder() {
+        for (TaskSortField field : TaskSortField.values()) {
+            String index = "idx_tasks_user_" + field.property();
+            String sql = listQuery(byOwner(), field.sort(Sort.Direction.ASC))
+                    .replaceFirst("from tasks (\\w+)", "from tasks $1 use index (" + index + ")");
+
+            String plan = explain(sql, "10", "10");
+
+            assertTrue(plan.contains(index.toUpperCase() + ": USER_ID = "), plan);
+            assertTrue(plan.contains("index sorted"), field + " should be read in " + index + " order:\n" + plan);
+        }
+    }
+
+    @Test
+    void listQueriesSeekTheOwnerThroughAnIndex() {
+        Specification<Task> byStatus = byOwner()
+                .and((root, query, cb) -> cb.equal(root.get("status"), Task.Status.PENDING));
+        Specification<Task> byPriorityAndDeadline = byOwner()
+                .and((root, query, cb) -> cb.equal(root.get("priority"), Task.Priority.HIGH))
+                .and((root, query, cb) -> cb.lessThan(root.get("deadline"), LocalDate.of(2030, 3, 1)));
+
+        for (TaskSortField field : TaskSortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                assertOwnerSeek(explain(listQuery(byOwner(), field.sort(direction)), "10", "10"));
+            }
+        }
+        assertOwnerSeek(explain(listQuery(byStatus, TaskSortField.ID.sort(Sort.Direction.ASC)), "10", "10"));
+        // A range on the sort column makes the composite cheaper than the foreign key index
+        String byDeadlineRange = explain(listQuery(byPriorityAndDeadline,
+                TaskSortField.DEADLINE.sort(Sort.Direction.DESC)), "10", "10");
+        assertOwnerSeek(byDeadlineRange);
+        assertTrue(byDeadlineRange.contains("IDX_TASKS_USER_DEADLINE"), byDeadlineRange);
+    }
+
+    @Test
+    void reminderAndSubtaskLookupsUseIndexes() {
+        String byStatus = explain(captured(() -> taskRepository.findByStatus(Task.Status.PENDING)), "'PENDING'");
+        String overdue = explain(captured(() -> taskRepository.findByDeadlineBeforeAndStatus(
+                LocalDate.of(2030, 2, 1), Task.Status.PENDING)), "DATE '2030-02-01'", "'PENDING'");
+        Long taskId = entityManager.createQuery("SELECT MIN(t.id) FROM Task t", Long.class).getSingleResult();
+        String subtasks = explain(captured(() -> subTaskRepository.findByParentTaskId(taskId)), taskId.toString());
+        String sweepChunk = explain(captured(() -> taskRepository.findChunkByStatus(Task.Status.PENDING, 100L,
+                Limit.of(50))), "'PENDING'", "100", "50");
+
+        assertIndexed(byStatus);
+        assertTrue(byStatus.contains("IDX_TASKS_STATUS_DEADLINE"), byStatus);
+        // The reminder sweep seeks through the pending tasks in id order without sorting them
+        assertTrue(sweepChunk.contains("IDX_TASKS_STATUS_ID"), sweepChunk);
+        assertTrue(sweepChunk.contains("index sorted"), sweepChunk);
+        assertIndexed(overdue);
+        assertTrue(overdue.contains("IDX_TASKS_STATUS_DEADLINE"), overdue);
+        assertIndexed(subtasks);
+    }
+
+    private Specification<Task> byOwner() {
+        return (root, query, cb) -> cb.equal(root.get("user"), owner);
+    }
+
+    // First statement of a view page: the projection query, before the subtask and count queries
+    private String listQuery(Specification<Task> spec, Sort sort) {
+        CapturingInspector.statements.clear();
+        taskRepository.findTaskViews(spec, PageRequest.of(1, 10, sort), UserView.from(owner));
+        return CapturingInspector.statements.get(0);
+    }
+
+    private String captured(Runnable query) {
+        CapturingInspector.statements.clear();
+        query.run();
+        return CapturingInspector.statements.get(0);
+    }
+
+    // The index H2 picked is entered through an equality on the owner, not scanned or entered on another column
+    private void assertOwnerSeek(String plan) {
+        assertTrue(plan.matches("(?s).*/\\* PUBLIC\\.\\w+: [^*]*USER_ID = CAST\\(\\d+ AS BIGINT\\)[^*]*\\*/.*"),
+                "Expected an index seek on user_id:\n" + plan);
+    }
+
+    private void assertIndexed(String plan) {
+        assertFalse(plan.contains("tableScan"), "Expected an index lookup:\n" + plan);
+    }
+
+    // Binds the remaining JDBC parameters (paging for criteria queries, every value for derived queries)
+    // as literals, in order, and returns H2's plan for the statement
+    private String explain(String sql, String... values) {
+        String inlined = sql;
+        for (String value : values) {
+            inlined = inlined.replaceFirst("\\?", value);
+        }
+        return entityManager.createNativeQuery("EXPLAIN " + inlined).getSingleResult().toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.tasks_management_backend.repository;
+
+import com.example.tasks_management_backend.dto.TaskCompletion;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskView;
+import com.example.tasks_management_backend.dto.UserView;
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.SubTask;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskRepositoryImplTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User("owner", "password", Set.of(Role.ROLE_USER));
+        entityManager.persist(owner);
+
+        for (int i = 1; i <= 30; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.MEDIUM);
+            task.setStatus(Task.Status.PENDING);
+            task.setDeadline(LocalDate.now().plusDays(i));
+            task.setUser(owner);
+            for (int j = 1; j <= 3; j++) {
+                SubTask subTask = new SubTask();
+                subTask.setTitle("Subtask " + j);
+                subTask.setPriority(Task.Priority.LOW);
+                subTask.setStatus(Task.Status.PENDING);
+                task.addSubTask(subTask);
+            }
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findTaskViews_UsesConstantStatementCount() {
+        assertEquals(3, statementsFor(5));
+        assertEquals(3, statementsFor(20));
+    }
+
+    @Test
+    void findTaskViews_AttachesSubtasksAndOwner() {
+        Specification<Task> byOwner = (root, query, cb) -> cb.equal(root.get("user"), owner);
+
+        Page<TaskView> page = taskRepository.findTaskViews(byOwner, PageRequest.of(1, 10, Sort.by("id")),
+                UserView.from(owner));
+
+        assertEquals(30, page.getTotalElements());
+        assertEquals(10, page.getContent().size());
+        assertEquals("Task 11", page.getContent().get(0).title());
+        assertEquals(3, page.getContent().get(0).subtasks().size());
+        assertEquals("owner", page.getContent().get(0).user().username());
+    }
+
+    @Test
+    void findTaskViewSlice_SkipsCountQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Specification<Task> byOwner = (root, query, cb) -> cb.equal(root.get("user"), owner);
+
+        Slice<TaskView> middle = taskRepository.findTaskViewSlice(byOwner, PageRequest.of(1, 10, Sort.by("id")),
+                UserView.from(owner));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(10, middle.getContent().size());
+        assertEquals("Task 11", middle.getContent().get(0).title());
+        assertTrue(middle.hasNext());
+
+        Slice<TaskView> last = taskRepository.findTaskViewSlice(byOwner, PageRequest.of(2, 10, Sort.by("id")),
+                UserView.from(owner));
+        assertEquals(10, last.getContent().size());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void findTaskViews_KeysetOrderingPutsNullsLast() {
+        Task undated = new Task();
+        undated.setTitle("Undated");
+        undated.setPriority(Task.Priority.LOW);
+        undated.setStatus(Task.Status.PENDING);
+        undated.setUser(owner);
+        entityManager.persistAndFlush(undated);
+        Specification<Task> byOwner = (root, query, cb) -> cb.equal(root.get("user"), owner);
+        Sort sort = Sort.by(new Sort.Order(Sort.Direction.DESC, "deadline", Sort.NullHandling.NULLS_LAST),
+                new Sort.Order(Sort.Direction.DESC, "id"));
+
+        List<TaskView> views = taskRepository.findTaskViews(byOwner, sort, 31, UserView.from(owner));
+
+        assertEquals(31, views.size());
+        assertEquals("Task 30", views.get(0).title());
+        assertEquals("Undated", views.get(30).title());
+        assertEquals(3, views.get(0).subtasks().size());
+    }
+
+    @Test
+    void updateStatusAndPriority_RunsOneOwnerScopedUpdateAndBumpsVersions() {
+        User other = new User("other", "password", Set.of(Role.ROLE_USER));
+        entityManager.persist(other);
+        Task foreign = new Task();
+        foreign.setTitle("Foreign");
+        foreign.setPriority(Task.Priority.MEDIUM);
+        foreign.setStatus(Task.Status.PENDING);
+        foreign.setUser(other);
+        entityManager.persistAndFlush(foreign);
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).toList();
+        Long alreadyDone = ids.get(0);
+        taskRepository.updateStatusAndPriority((root, query, cb) -> cb.equal(root.get("id"), alreadyDone),
+                Task.Status.COMPLETED, null);
+
+        Specification<Task> byOwner = (root, query, cb) -> cb.equal(root.get("user"), owner);
+        List<TaskEvent> events = taskRepository.findBulkUpdateEvents(
+                byOwner.and((root, query, cb) -> root.get("id").in(ids)), Task.Status.COMPLETED, null);
+        List<Long> lockedIds = events.stream().map(TaskEvent::taskId).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int updated = taskRepository.updateStatusAndPriority(
+                byOwner.and((root, query, cb) -> root.get("id").in(lockedIds)), Task.Status.COMPLETED, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // The foreign task and the one that was already completed are not touched
+        assertEquals(29, updated);
+        assertEquals(Task.Status.PENDING, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+        assertEquals(1, taskRepository.findById(alreadyDone).orElseThrow().getVersion());
+        Task changed = taskRepository.findById(ids.get(1)).orElseThrow();
+        assertEquals(Task.Status.COMPLETED, changed.getStatus());
+        assertEquals(Task.Priority.MEDIUM, changed.getPriority());
+        assertEquals(1, changed.getVersion());
+        // The events read beforehand describe exactly the rows the update changed, in their new state
+        assertEquals(updated, events.size());
+        assertTrue(events.stream().noneMatch(event -> event.taskId().equals(alreadyDone)));
+        assertTrue(events.stream().allMatch(event -> event.status() == Task.Status.COMPLETED
+                && event.priority() == Task.Priority.MEDIUM && event.version() == 1
+                && event.userId().equals(owner.getId())));
+    }
+
+    @Test
+    void updateStatusIfUnchanged_OnlyUpdatesRowsStillAtTheVersionRead() {
+        List<TaskCompletion> read = taskRepository.findChunkByStatus(Task.Status.PENDING, 0L, Limit.of(3));
+        // Between the read and the update the owner edits the second task and completes the third
+        Task edited = taskRepository.findById(read.get(1).id()).orElseThrow();
+        edited.setTitle("Edited meanwhile");
+        Task completedByOwner = taskRepository.findById(read.get(2).id()).orElseThrow();
+        completedByOwner.setStatus(Task.Status.COMPLETED);
+        entityManager.flush();
+        entityManager.clear();
+
+        int[] updated = taskRepository.updateStatusIfUnchanged(read, Task.Status.PENDING, Task.Status.COMPLETED);
+
+        assertArrayEquals(new int[] {1, 0, 0}, updated);
+        Task swept = taskRepository.findById(read.get(0).id()).orElseThrow();
+        assertEquals(Task.Status.COMPLETED, swept.getStatus());
+        assertEquals(1, swept.getVersion());
+        assertEquals(Task.Status.PENDING, taskRepository.findById(edited.getId()).orElseThrow().getStatus());
+        assertEquals(1, taskRepository.findById(completedByOwner.getId()).orElseThrow().getVersion());
+    }
+
+    private long statementsFor(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Specification<Task> byOwner = (root, query, cb) -> cb.equal(root.get("user"), owner);
+
+        Page<TaskView> page = taskRepository.findTaskViews(byOwner, PageRequest.of(0, pageSize, Sort.by("id")),
+                UserView.from(owner));
+
+        assertEquals(pageSize, page.getContent().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
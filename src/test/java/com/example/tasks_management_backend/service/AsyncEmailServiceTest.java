@@ -0,0 +1,120 @@
+package com.example.tasks_management_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncEmailServiceTest {
+
+    private final FakeSesClient ses = new FakeSesClient();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncEmailService emailService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        CountDownLatch gate = ses.gate;
+        if (gate != null) {
+            gate.countDown();
+        }
+        emailService.stop();
+    }
+
+    @Test
+    void sendsQueuedEmailsInBulkTemplatedBatches() {
+        emailService = start(1000, 1, 50, 200, 3);
+
+        for (long i = 0; i < 120; i++) {
+            emailService.sendTaskCompletedEmail("user" + i + "@example.com", "Task " + i, i);
+        }
+
+        awaitTrue(() -> ses.delivered() == 120);
+        assertTrue(ses.templates.contains("task-completed"));
+        assertTrue(ses.bulkSends.stream().allMatch(batch -> batch.size() <= 50));
+        assertTrue(ses.bulkSends.size() <= 4, "Expected the burst to be batched: " + ses.bulkSends.size());
+        awaitTrue(() -> meterRegistry.counter("email.sent").count() == 120);
+        assertEquals(120, meterRegistry.timer("email.delivery").count());
+    }
+
+    @Test
+    void retriesFailedCallsAndThrottledDestinationsWithBackoff() {
+        emailService = start(100, 1, 50, 0, 4);
+        ses.failingCalls.set(1);
+        ses.throttled.put("slow@example.com", new AtomicInteger(2));
+
+        emailService.sendTaskCompletedEmail("slow@example.com", "Slow", 1L);
+        emailService.sendTaskCompletedEmail("fast@example.com", "Fast", 2L);
+
+        awaitTrue(() -> meterRegistry.counter("email.sent").count() == 2);
+        assertEquals(3, meterRegistry.counter("email.retries").count());
+        assertEquals(0, meterRegistry.counter("email.failed").count());
+    }
+
+    @Test
+    void dropsPermanentFailuresAndGivesUpAfterMaxAttempts() {
+        emailService = start(100, 1, 50, 0, 2);
+        ses.rejected.add("bad@example.com");
+
+        emailService.sendTaskCompletedEmail("bad@example.com", "Rejected", 1L);
+        awaitTrue(() -> meterRegistry.counter("email.failed").count() == 1);
+
+        ses.failingCalls.set(5);
+        emailService.sendTaskCompletedEmail("good@example.com", "Unlucky", 2L);
+        awaitTrue(() -> meterRegistry.counter("email.failed").count() == 2);
+        assertEquals(0, meterRegistry.counter("email.sent").count());
+    }
+
+    @Test
+    void appliesBackpressureWhenTheQueueIsFull() {
+        ses.gate = new CountDownLatch(1);
+        emailService = start(2, 1, 1, 0, 1);
+
+        // The worker holds the first email in a stalled send, the next two fill the queue
+        emailService.sendTaskCompletedEmail("a@example.com", "A", 1L);
+        awaitTrue(() -> emailService.queueDepth() == 0);
+        emailService.sendTaskCompletedEmail("b@example.com", "B", 2L);
+        emailService.sendTaskCompletedEmail("c@example.com", "C", 3L);
+        assertEquals(2, meterRegistry.get("email.queue.depth").gauge().value());
+
+        long start = System.nanoTime();
+        emailService.sendTaskCompletedEmail("d@example.com", "D", 4L);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMs >= 100, "Caller should have waited for space, waited " + waitedMs + "ms");
+        assertEquals(1, meterRegistry.counter("email.rejected").count());
+
+        ses.gate.countDown();
+        awaitTrue(() -> meterRegistry.counter("email.sent").count() == 3);
+        assertEquals(List.of("a@example.com"), ses.bulkSends.get(0));
+    }
+
+    private AsyncEmailService start(int capacity, int workers, int batchSize, long lingerMs, int maxAttempts) {
+        AsyncEmailService service = new AsyncEmailService(
+                new SesEmailService(ses, "noreply@example.com", "task-completed"), meterRegistry,
+                capacity, workers, batchSize, lingerMs, 100, maxAttempts, 10, 5000);
+        service.start();
+        return service;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
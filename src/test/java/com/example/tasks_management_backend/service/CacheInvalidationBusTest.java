@@ -0,0 +1,61 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.CacheInvalidationMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationBusTest {
+
+    @Test
+    void publishUser_ReachesOtherNodesOnly() {
+        LocalCacheInvalidationTransport transport = new LocalCacheInvalidationTransport();
+        CacheInvalidationBus nodeA = new CacheInvalidationBus(transport);
+        CacheInvalidationBus nodeB = new CacheInvalidationBus(transport);
+
+        List<CacheInvalidationMessage> receivedByA = new ArrayList<>();
+        List<CacheInvalidationMessage> receivedByB = new ArrayList<>();
+        nodeA.register("tasks", receivedByA::add);
+        nodeB.register("tasks", receivedByB::add);
+
+        nodeA.publishUser("tasks", 7L);
+
+        assertTrue(receivedByA.isEmpty());
+        assertEquals(1, receivedByB.size());
+        assertEquals(7L, receivedByB.get(0).userId());
+        assertEquals(nodeA.getNodeId(), receivedByB.get(0).origin());
+    }
+
+    @Test
+    void publishKey_IsRoutedByCacheName() {
+        LocalCacheInvalidationTransport transport = new LocalCacheInvalidationTransport();
+        CacheInvalidationBus nodeA = new CacheInvalidationBus(transport);
+        CacheInvalidationBus nodeB = new CacheInvalidationBus(transport);
+
+        List<String> evictedUsers = new ArrayList<>();
+        List<Long> evictedTaskOwners = new ArrayList<>();
+        nodeB.register("users", message -> evictedUsers.add(message.key()));
+        nodeB.register("tasks", message -> evictedTaskOwners.add(message.userId()));
+
+        nodeA.publishKey("users", "alice");
+
+        assertEquals(List.of("alice"), evictedUsers);
+        assertTrue(evictedTaskOwners.isEmpty());
+    }
+
+    @Test
+    void taskCacheKeys_RemoteInvalidationBumpsGeneration() {
+        LocalCacheInvalidationTransport transport = new LocalCacheInvalidationTransport();
+        TaskCacheKeys nodeA = new TaskCacheKeys(null, new CacheInvalidationBus(transport));
+        TaskCacheKeys nodeB = new TaskCacheKeys(null, new CacheInvalidationBus(transport));
+
+        nodeA.evictUser(3L);
+
+        assertEquals(1L, nodeA.generation(3L));
+        assertEquals(1L, nodeB.generation(3L));
+        assertEquals(0L, nodeB.generation(4L));
+    }
+}
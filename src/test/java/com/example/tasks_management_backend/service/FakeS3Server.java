@@ -0,0 +1,229 @@
+package com.example.tasks_management_backend.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// In-process S3-compatible HTTP endpoint (path-style) covering object PUT/GET/HEAD and the multipart calls. The
+// real SDK client talks to it over the wire, so request marshalling and aws-chunked bodies are exercised too.
+class FakeS3Server implements AutoCloseable {
+
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private static final Pattern COMPLETED_PART =
+            Pattern.compile("<Part>.*?<PartNumber>(\\d+)</PartNumber>.*?</Part>", Pattern.DOTALL);
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    final Set<String> aborted = ConcurrentHashMap.newKeySet();
+    final AtomicInteger multipartUploads = new AtomicInteger();
+    final AtomicInteger maxConcurrentParts = new AtomicInteger();
+    volatile int failPart = -1;
+    volatile long partDelayMs = 50;
+
+    private final AtomicInteger partsInProgress = new AtomicInteger();
+    private final HttpServer server;
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            // Path-style: /bucket/key
+            String key = exchange.getRequestURI().getPath().replaceFirst("^/[^/]+/", "");
+            String method = exchange.getRequestMethod();
+
+            if (method.equals("POST") && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new ConcurrentHashMap<>());
+                multipartUploads.incrementAndGet();
+                xml(exchange, 200, "<InitiateMultipartUploadResult><Key>" + key + "</Key><UploadId>" + uploadId
+                        + "</UploadId></InitiateMultipartUploadResult>");
+            } else if (method.equals("PUT") && query.containsKey("uploadId")) {
+                uploadPart(exchange, query.get("uploadId"), Integer.parseInt(query.get("partNumber")));
+            } else if (method.equals("POST") && query.containsKey("uploadId")) {
+                complete(exchange, key, query.get("uploadId"));
+            } else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                aborted.add(query.get("uploadId"));
+                exchange.sendResponseHeaders(204, -1);
+            } else if (method.equals("PUT")) {
+                byte[] body = body(exchange);
+                objects.put(key, body);
+                exchange.getResponseHeaders().add("ETag", etag(body));
+                exchange.sendResponseHeaders(200, -1);
+            } else if (method.equals("HEAD") || method.equals("GET")) {
+                if (method.equals("HEAD")) {
+                    // HttpServer closes the connection after a bodiless HEAD; tell the client not to reuse it
+                    exchange.getResponseHeaders().add("Connection", "close");
+                }
+                byte[] object = objects.get(key);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("ETag", etag(object));
+                if (method.equals("HEAD")) {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                    exchange.sendResponseHeaders(200, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, object.length);
+                    exchange.getResponseBody().write(object);
+                }
+            } else {
+                error(exchange, 405, "MethodNotAllowed");
+            }
+        }
+    }
+
+    private void uploadPart(HttpExchange exchange, String uploadId, int partNumber) throws IOException {
+        int inProgress = partsInProgress.incrementAndGet();
+        maxConcurrentParts.accumulateAndGet(inProgress, Math::max);
+        try {
+            byte[] body = body(exchange);
+            Thread.sleep(partDelayMs);
+            Map<Integer, byte[]> parts = uploads.get(uploadId);
+            if (parts == null) {
+                error(exchange, 404, "NoSuchUpload");
+            } else if (partNumber == failPart) {
+                error(exchange, 500, "InternalError");
+            } else {
+                parts.put(partNumber, body);
+                exchange.getResponseHeaders().add("ETag", etag(body));
+                exchange.sendResponseHeaders(200, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            partsInProgress.decrementAndGet();
+        }
+    }
+
+    private void complete(HttpExchange exchange, String key, String uploadId) throws IOException {
+        String request = new String(body(exchange), StandardCharsets.UTF_8);
+        Map<Integer, byte[]> parts = uploads.remove(uploadId);
+        if (parts == null) {
+            error(exchange, 404, "NoSuchUpload");
+            return;
+        }
+        TreeMap<Integer, byte[]> listed = new TreeMap<>();
+        Matcher matcher = COMPLETED_PART.matcher(request);
+        while (matcher.find()) {
+            int partNumber = Integer.parseInt(matcher.group(1));
+            if (!parts.containsKey(partNumber)) {
+                error(exchange, 400, "InvalidPart");
+                return;
+            }
+            listed.put(partNumber, parts.get(partNumber));
+        }
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        for (Map.Entry<Integer, byte[]> part : listed.entrySet()) {
+            if (part.getValue().length < MIN_PART_SIZE && !part.getKey().equals(listed.lastKey())) {
+                error(exchange, 400, "EntityTooSmall");
+                return;
+            }
+            object.writeBytes(part.getValue());
+        }
+        objects.put(key, object.toByteArray());
+        xml(exchange, 200, "<CompleteMultipartUploadResult><Key>" + key + "</Key><ETag>"
+                + etag(object.toByteArray()) + "</ETag></CompleteMultipartUploadResult>");
+    }
+
+    // The SDK signs plain-HTTP uploads chunk by chunk (aws-chunked): "<hex size>;chunk-signature=...\r\n<data>\r\n"
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (sha256 == null || !sha256.startsWith("STREAMING-")) {
+            return in.readAllBytes();
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        while (true) {
+            String header = line(in);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            if (size == 0) {
+                // Drain the trailer so the connection can be reused
+                in.readAllBytes();
+                return decoded.toByteArray();
+            }
+            decoded.writeBytes(in.readNBytes(size));
+            line(in);
+        }
+    }
+
+    private static String line(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery != null) {
+            for (String param : rawQuery.split("&")) {
+                String[] pair = param.split("=", 2);
+                params.put(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        return params;
+    }
+
+    private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        xml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>");
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
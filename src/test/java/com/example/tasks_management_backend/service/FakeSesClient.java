@@ -0,0 +1,90 @@
+package com.example.tasks_management_backend.service;
+
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process stand-in for SES: records every bulk send and can be told to fail, throttle or stall
+class FakeSesClient implements SesClient {
+
+    final List<List<String>> bulkSends = new CopyOnWriteArrayList<>();
+    final Set<String> templates = ConcurrentHashMap.newKeySet();
+    final Set<String> rejected = ConcurrentHashMap.newKeySet();
+    final Map<String, AtomicInteger> throttled = new ConcurrentHashMap<>();
+    final AtomicInteger failingCalls = new AtomicInteger();
+    volatile CountDownLatch gate;
+
+    @Override
+    public GetTemplateResponse getTemplate(GetTemplateRequest request) {
+        if (!templates.contains(request.templateName())) {
+            throw TemplateDoesNotExistException.builder().message("Template does not exist").build();
+        }
+        return GetTemplateResponse.builder().template(Template.builder().templateName(request.templateName()).build())
+                .build();
+    }
+
+    @Override
+    public CreateTemplateResponse createTemplate(CreateTemplateRequest request) {
+        templates.add(request.template().templateName());
+        return CreateTemplateResponse.builder().build();
+    }
+
+    @Override
+    public SendBulkTemplatedEmailResponse sendBulkTemplatedEmail(SendBulkTemplatedEmailRequest request) {
+        CountDownLatch currentGate = gate;
+        if (currentGate != null) {
+            try {
+                currentGate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failingCalls.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw SesException.builder().message("Service unavailable").statusCode(503).build();
+        }
+        if (!templates.contains(request.template())) {
+            throw TemplateDoesNotExistException.builder().message("Template does not exist").build();
+        }
+
+        List<String> recipients = new ArrayList<>();
+        List<BulkEmailDestinationStatus> statuses = new ArrayList<>();
+        for (BulkEmailDestination destination : request.destinations()) {
+            String recipient = destination.destination().toAddresses().get(0);
+            recipients.add(recipient);
+            AtomicInteger throttles = throttled.get(recipient);
+            BulkEmailStatus status;
+            if (rejected.contains(recipient)) {
+                status = BulkEmailStatus.MESSAGE_REJECTED;
+            } else if (throttles != null && throttles.getAndDecrement() > 0) {
+                status = BulkEmailStatus.ACCOUNT_THROTTLED;
+            } else {
+                status = BulkEmailStatus.SUCCESS;
+            }
+            statuses.add(BulkEmailDestinationStatus.builder().status(status).build());
+        }
+        bulkSends.add(recipients);
+        return SendBulkTemplatedEmailResponse.builder().status(statuses).build();
+    }
+
+    int delivered() {
+        return bulkSends.stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
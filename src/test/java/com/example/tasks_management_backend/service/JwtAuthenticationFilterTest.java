@@ -0,0 +1,89 @@
+package com.example.tasks_management_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+    private final AuthenticatedUser user = new AuthenticatedUser(42L, "testuser", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Mock
+    private MyUserDetailsService userDetailsService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void recentTokenWithClaims_AuthenticatesWithoutLookup() throws Exception {
+        Authentication authentication = filter(60_000, jwtUtil.generateToken(user));
+
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(42L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(user.getAuthorities(), principal.getAuthorities());
+        assertEquals(user.getAuthorities(), Set.copyOf(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokenOlderThanMaxAge_IsRecheckedAgainstTheDatabase() throws Exception {
+        AuthenticatedUser demoted = new AuthenticatedUser(42L, "testuser", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(demoted);
+
+        Authentication authentication = filter(-1, jwtUtil.generateToken(user));
+
+        assertSame(demoted, authentication.getPrincipal());
+        assertEquals(demoted.getAuthorities(), Set.copyOf(authentication.getAuthorities()));
+    }
+
+    @Test
+    void tokenWithoutUserIdOrRoles_FallsBackToLookup() throws Exception {
+        UserDetails plain = User.withUsername("testuser").password("password").authorities("ROLE_USER").build();
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+
+        Authentication authentication = filter(60_000, jwtUtil.generateToken(plain));
+
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(42L, principal.getId());
+        verify(userDetailsService).loadUserByUsername("testuser");
+    }
+
+    private Authentication filter(long maxTokenAgeMs, String token) throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, true,
+                maxTokenAgeMs);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.tasks_management_backend.service;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final UserDetails userDetails = User.withUsername("testuser")
+            .password("password")
+            .authorities("ROLE_USER")
+            .build();
+
+    @Test
+    void verifyToken_ReturnsSameClaimsForRepeatedCalls() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken(userDetails);
+
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        assertEquals("testuser", first.getSubject());
+        assertSame(first, second);
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    void toPrincipal_RebuildsUserFromClaims() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        AuthenticatedUser user = new AuthenticatedUser(42L, "testuser", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        AuthenticatedUser principal = jwtUtil.toPrincipal(jwtUtil.verifyToken(jwtUtil.generateToken(user)));
+
+        assertNotNull(principal);
+        assertEquals(42L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(user.getAuthorities(), principal.getAuthorities());
+    }
+
+    @Test
+    void toPrincipal_ReturnsNullWithoutUserIdClaim() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+        assertNull(jwtUtil.toPrincipal(jwtUtil.verifyToken(jwtUtil.generateToken(userDetails))));
+    }
+
+    @Test
+    void verifyToken_RejectsTamperedToken() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verifyToken(tampered));
+    }
+
+    @Test
+    void verifyToken_RejectsTokenSignedWithAnotherKey() {
+        JwtUtil issuer = new JwtUtil("another-secret-key-that-is-long-enough-for-hs256", 60_000, 100);
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+
+        String token = issuer.generateToken(userDetails);
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    void verifyToken_RejectsExpiredToken() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, -1_000, 100);
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.verifyToken(token));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskStats;
+import com.example.tasks_management_backend.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.events.transport=kafka",
+        "app.events.topic=" + KafkaConsumerServiceTest.TOPIC,
+        "app.events.stats.group-id=" + KafkaConsumerServiceTest.GROUP,
+        "app.events.stats.concurrency=2"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@Import({KafkaConsumerService.class, TaskStatsService.class, KafkaTaskEventPublisher.class,
+        KafkaConsumerServiceTest.Config.class})
+@EmbeddedKafka(partitions = 3, topics = KafkaConsumerServiceTest.TOPIC)
+class KafkaConsumerServiceTest {
+
+    static final String TOPIC = "task-events-stats-test";
+    static final String GROUP = "task-stats-test";
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private KafkaTaskEventPublisher publisher;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void onEvents_BuildsStatsOnceAndCommitsOffsetsAfterApplying() {
+        List<TaskEvent> events = new ArrayList<>();
+        for (long taskId = 1; taskId <= 30; taskId++) {
+            events.add(event(TaskEvent.Type.CREATED, taskId, Task.Status.PENDING, 0));
+        }
+        for (long taskId = 1; taskId <= 10; taskId++) {
+            events.add(event(TaskEvent.Type.UPDATED, taskId, Task.Status.COMPLETED, 1));
+        }
+        events.add(event(TaskEvent.Type.DELETED, 30L, Task.Status.PENDING, 0));
+
+        publisher.publishAll(events);
+        // A redelivered copy of everything and one record that is not a task event at all
+        publisher.publishAll(events);
+        sendGarbage();
+
+        awaitTrue(() -> meterRegistry.counter("tasks.stats.applied").count()
+                + meterRegistry.counter("tasks.stats.skipped").count() == 2 * events.size());
+        assertEquals(events.size(), meterRegistry.counter("tasks.stats.applied").count());
+
+        TaskStats stats = taskStatsService.getStats(7L);
+        assertEquals(29, stats.total());
+        assertEquals(19, stats.byStatus().get(Task.Status.PENDING));
+        assertEquals(10, stats.byStatus().get(Task.Status.COMPLETED));
+        assertEquals(LocalDate.now().plusDays(11), stats.nextDeadline());
+
+        // Every record, the garbage one included, ends up behind the committed offset of the group
+        awaitTrue(() -> committed() == 2L * events.size() + 1);
+    }
+
+    private long committed() {
+        long total = 0;
+        for (int partition = 0; partition < 3; partition++) {
+            try {
+                OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC,
+                        partition);
+                total += offset != null ? offset.offset() : 0;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return total;
+    }
+
+    private void sendGarbage() {
+        DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()),
+                new StringSerializer(), new StringSerializer());
+        try {
+            new KafkaTemplate<>(factory).send(TOPIC, "999", "not a task event").get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private TaskEvent event(TaskEvent.Type type, Long taskId, Task.Status status, int version) {
+        return new TaskEvent(type, taskId, 7L, status, Task.Priority.MEDIUM, LocalDate.now().plusDays(taskId),
+                version, System.currentTimeMillis());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 20 seconds");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = KafkaTaskEventPublisherTest.Config.class, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.events.transport=kafka",
+        "app.events.topic=" + KafkaTaskEventPublisherTest.TOPIC})
+@EmbeddedKafka(partitions = 3, topics = KafkaTaskEventPublisherTest.TOPIC)
+class KafkaTaskEventPublisherTest {
+
+    static final String TOPIC = "task-events-test";
+
+    @Configuration
+    @ImportAutoConfiguration(KafkaAutoConfiguration.class)
+    @Import(KafkaTaskEventPublisher.class)
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private KafkaTaskEventPublisher publisher;
+
+    @Autowired
+    private ProducerFactory<?, ?> producerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    void producerIsIdempotentBatchedAndCompressed() {
+        Map<String, Object> config = producerFactory.getConfigurationProperties();
+
+        assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals("true", config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("lz4", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals("20", config.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(32768, config.get(ProducerConfig.BATCH_SIZE_CONFIG));
+    }
+
+    @Test
+    void publishAll_KeepsEachTaskOnOnePartitionInVersionOrder() {
+        double sentBefore = meterRegistry.counter("task.events.sent").count();
+        List<TaskEvent> events = new ArrayList<>();
+        for (int version = 0; version < 10; version++) {
+            for (long taskId = 101; taskId <= 106; taskId++) {
+                events.add(new TaskEvent(TaskEvent.Type.UPDATED, taskId, 7L, Task.Status.PENDING,
+                        Task.Priority.LOW, null, version, System.currentTimeMillis()));
+            }
+        }
+
+        publisher.publishAll(events);
+
+        List<ConsumerRecord<String, String>> records = consume(
+                Set.of("101", "102", "103", "104", "105", "106"), 60);
+        Map<String, List<ConsumerRecord<String, String>>> byTask = records.stream()
+                .collect(Collectors.groupingBy(ConsumerRecord::key));
+        assertEquals(6, byTask.size());
+        byTask.forEach((taskId, taskRecords) -> {
+            assertEquals(1, taskRecords.stream().map(ConsumerRecord::partition).distinct().count());
+            for (int i = 0; i < taskRecords.size(); i++) {
+                assertTrue(taskRecords.get(i).value().contains("\"version\":" + i), taskRecords.get(i).value());
+            }
+        });
+        // Null fields are left out of the payload
+        assertFalse(records.get(0).value().contains("deadline"));
+        awaitTrue(() -> meterRegistry.counter("task.events.sent").count() == sentBefore + 60);
+        assertTrue(meterRegistry.timer("task.events.send").count() >= 60);
+    }
+
+    @Test
+    void publish_WaitsForCommitAndCarriesTheFlushedVersion() {
+        double sentBefore = meterRegistry.counter("task.events.sent").count();
+        User user = new User();
+        user.setId(7L);
+        Task task = new Task();
+        task.setId(200L);
+        task.setUser(user);
+        task.setStatus(Task.Status.COMPLETED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publisher.publish(TaskEvent.Type.UPDATED, task);
+            assertEquals(sentBefore, meterRegistry.counter("task.events.sent").count());
+            // What the flush does before commit
+            task.setVersion(3);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        awaitTrue(() -> meterRegistry.counter("task.events.sent").count() == sentBefore + 1);
+        ConsumerRecord<String, String> record = consume(Set.of("200"), 1).get(0);
+        assertEquals("200", record.key());
+        assertTrue(record.value().contains("\"version\":3"), record.value());
+    }
+
+    @Test
+    void publish_CountsFailuresWhenTheBrokerIsUnreachable() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:1");
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 200);
+        DefaultKafkaProducerFactory<String, Object> unreachable = new DefaultKafkaProducerFactory<>(config,
+                new StringSerializer(), new JsonSerializer<>());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try {
+            KafkaTaskEventPublisher failing = new KafkaTaskEventPublisher(new KafkaTemplate<>(unreachable), registry,
+                    TOPIC);
+
+            failing.publishAll(List.of(new TaskEvent(TaskEvent.Type.DELETED, 1L, 7L, null, null, null, 0, 0L)));
+
+            awaitTrue(() -> registry.counter("task.events.failed").count() == 1);
+            assertEquals(0, registry.counter("task.events.sent").count());
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    // Reads the topic from the start with a fresh group and returns the records of the given tasks
+    private List<ConsumerRecord<String, String>> consume(Set<String> keys, int expected) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("verify-" + System.nanoTime(), "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new StringDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of(TOPIC));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (records.size() < expected && System.nanoTime() < deadline) {
+                consumer.poll(Duration.ofMillis(200)).forEach(record -> {
+                    if (keys.contains(record.key())) {
+                        records.add(record);
+                    }
+                });
+            }
+        }
+        assertEquals(expected, records.size());
+        return records;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
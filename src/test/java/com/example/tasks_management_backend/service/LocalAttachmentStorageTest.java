@@ -0,0 +1,70 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAttachmentStorageTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void store_WritesTheFileUnderItsKey() throws Exception {
+        LocalAttachmentStorage storage = storage(DataSize.ofMegabytes(8));
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        AttachmentUpload upload = storage.store("tasks/1/abc_report.pdf", new ByteArrayInputStream(content),
+                "application/pdf");
+
+        assertEquals(content.length, upload.bytes());
+        assertArrayEquals(content, Files.readAllBytes(root.resolve("tasks/1/abc_report.pdf")));
+        assertEquals(content.length, storage.objectSize("tasks/1/abc_report.pdf"));
+        assertEquals("tasks/1/abc_report.pdf", storage.keyOf(upload.url()));
+        assertEquals(root.resolve("tasks/1/abc_report.pdf"), storage.localPath(upload.key()));
+        // Only the finished file, no temporary leftovers
+        try (Stream<Path> files = Files.list(root.resolve("tasks/1"))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void store_RejectsOversizedUploadsAndLeavesNothingBehind() throws Exception {
+        LocalAttachmentStorage storage = storage(DataSize.ofMegabytes(1));
+
+        assertThrows(MaxUploadSizeExceededException.class, () -> storage.store("tasks/1/big.bin",
+                new ByteArrayInputStream(new byte[3 * 1024 * 1024]), "application/octet-stream"));
+
+        assertNull(storage.objectSize("tasks/1/big.bin"));
+        try (Stream<Path> files = Files.list(root.resolve("tasks/1"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void keysCannotEscapeTheRoot() throws Exception {
+        LocalAttachmentStorage storage = storage(DataSize.ofMegabytes(1));
+
+        assertThrows(IllegalArgumentException.class, () -> storage.localPath("../outside.txt"));
+        assertThrows(IllegalArgumentException.class, () -> storage.store("tasks/1/../../../outside.txt",
+                new ByteArrayInputStream(new byte[1]), "text/plain"));
+        assertNull(storage.keyOf("https://bucket.s3.amazonaws.com/tasks/1/file.txt"));
+        assertFalse(storage.supportsPresignedUrls());
+    }
+
+    private LocalAttachmentStorage storage(DataSize maxSize) throws Exception {
+        return new LocalAttachmentStorage(new SimpleMeterRegistry(), root.toString(), maxSize);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.model.OutboxEvent;
+import com.example.tasks_management_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import software.amazon.awssdk.services.sns.model.SnsException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private SnsService snsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, snsService, transactionManager, meterRegistry, 25, 1000,
+                60000);
+    }
+
+    @Test
+    void relay_PublishesInBatchesOfTenAndDeletesWhatWasPublished() {
+        List<OutboxEvent> events = events(1, 25);
+        when(outboxEventRepository.findPublishable(any(), eq(Limit.of(25)))).thenReturn(events, List.of());
+        when(snsService.publishBatch(anyList())).thenAnswer(invocation -> new SnsService.BatchOutcome(
+                invocation.<List<OutboxEvent>>getArgument(0).stream().map(OutboxEvent::getId).toList(), Map.of()));
+        when(outboxEventRepository.count()).thenReturn(0L);
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<List<OutboxEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(snsService, times(3)).publishBatch(batches.capture());
+        assertEquals(List.of(10, 10, 5), batches.getAllValues().stream().map(List::size).toList());
+        verify(outboxEventRepository, times(3)).deleteAllByIdInBatch(any());
+        verify(outboxEventRepository, never()).reschedule(any(), any());
+        assertEquals(25, meterRegistry.counter("outbox.published").count());
+        assertEquals(25, meterRegistry.timer("outbox.publish.lag").count());
+    }
+
+    @Test
+    void relay_ReschedulesRefusedEntriesWithBackoff() {
+        List<OutboxEvent> events = events(1, 3);
+        events.get(2).setAttempts(2);
+        when(outboxEventRepository.findPublishable(any(), eq(Limit.of(25)))).thenReturn(events);
+        when(snsService.publishBatch(events)).thenReturn(new SnsService.BatchOutcome(List.of(1L),
+                Map.of(2L, "InternalError: try again", 3L, "Throttled: slow down")));
+
+        Instant before = Instant.now();
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(Set.of(1L));
+        ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxEventRepository).reschedule(eq(List.of(2L)), retryAt.capture());
+        verify(outboxEventRepository).reschedule(eq(List.of(3L)), retryAt.capture());
+        assertTrue(Duration.between(before, retryAt.getAllValues().get(0)).toMillis() >= 1000);
+        assertTrue(Duration.between(before, retryAt.getAllValues().get(1)).toMillis() >= 4000);
+        assertEquals(2, meterRegistry.counter("outbox.failed").count());
+    }
+
+    @Test
+    void relay_KeepsEveryEventWhenTheCallFails() {
+        List<OutboxEvent> events = events(1, 4);
+        when(outboxEventRepository.findPublishable(any(), eq(Limit.of(25)))).thenReturn(events);
+        when(snsService.publishBatch(events)).thenThrow(SnsException.builder().message("unavailable").build());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxEventRepository).reschedule(eq(List.of(1L, 2L, 3L, 4L)), any());
+        assertEquals(0, meterRegistry.counter("outbox.published").count());
+    }
+
+    private static List<OutboxEvent> events(long first, long last) {
+        List<OutboxEvent> events = new ArrayList<>();
+        LongStream.rangeClosed(first, last).forEach(id -> {
+            OutboxEvent event = new OutboxEvent(id, TaskOutboxService.TASK_CREATED, "Subject", "{}",
+                    Instant.now().minusSeconds(5));
+            event.setId(id);
+            events.add(event);
+        });
+        return events;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.AttachmentUpload;
+import com.example.tasks_management_backend.dto.PresignedUrl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3ServiceTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private FakeS3Server s3;
+    private S3Client s3Client;
+    private S3Presigner s3Presigner;
+    private SimpleMeterRegistry meterRegistry;
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new FakeS3Server();
+        s3Client = S3Client.builder()
+                .endpointOverride(s3.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .overrideConfiguration(config -> config.retryPolicy(RetryPolicy.none()))
+                .build();
+        s3Presigner = S3Presigner.builder()
+                .endpointOverride(s3.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+        // 5MB parts, three in flight per upload, six buffers shared
+        s3Service = service(DataSize.ofMegabytes(64));
+    }
+
+    private S3Service service(DataSize maxUploadSize) {
+        return new S3Service(s3Client, s3Presigner, meterRegistry, "attachments", Duration.ofMinutes(15),
+                Duration.ofMinutes(5), DataSize.ofMegabytes(5), 3, 4, 6, maxUploadSize);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Service.stop();
+        s3Client.close();
+        s3Presigner.close();
+        s3.close();
+    }
+
+    @Test
+    void store_SendsLargeBodiesAsParallelMultipartUpload() throws Exception {
+        long size = 23L * MB;
+
+        AttachmentUpload upload = s3Service.store("tasks/1/large.bin", new GeneratedInputStream(size, -1),
+                "application/octet-stream");
+
+        assertEquals(size, upload.bytes());
+        assertEquals(5, upload.parts());
+        assertTrue(upload.url().endsWith("/attachments/" + upload.key()));
+        assertTrue(upload.megabytesPerSecond() > 0);
+        byte[] stored = s3.objects.get(upload.key());
+        assertNotNull(stored);
+        assertArrayEquals(sha256(new GeneratedInputStream(size, -1)), MessageDigest.getInstance("SHA-256").digest(stored));
+
+        int concurrency = s3.maxConcurrentParts.get();
+        assertTrue(concurrency > 1, "parts should be uploaded in parallel, saw " + concurrency);
+        assertTrue(concurrency <= 3, "at most three parts per upload in flight, saw " + concurrency);
+        assertEquals(6, s3Service.availableBuffers());
+        assertEquals(1, meterRegistry.timer("attachments.upload").count());
+        assertEquals(size, meterRegistry.summary("attachments.upload.bytes").totalAmount());
+    }
+
+    @Test
+    void store_UsesSinglePutForSmallBodies() throws Exception {
+        AttachmentUpload upload = s3Service.store("tasks/1/notes.txt", new GeneratedInputStream(1024, -1),
+                "text/plain");
+
+        assertEquals(1, upload.parts());
+        assertEquals(1024, s3.objects.get(upload.key()).length);
+        assertEquals(0, s3.multipartUploads.get());
+        assertEquals(6, s3Service.availableBuffers());
+    }
+
+    @Test
+    void store_AbortsWhenAPartFails() {
+        s3.failPart = 3;
+
+        assertThrows(S3Exception.class, () -> s3Service.store("tasks/1/broken.bin",
+                new GeneratedInputStream(40L * MB, -1), "application/octet-stream"));
+
+        assertEquals(1, s3.aborted.size());
+        assertTrue(s3.uploads.isEmpty());
+        assertTrue(s3.objects.isEmpty());
+        assertEquals(6, s3Service.availableBuffers());
+        assertEquals(1, meterRegistry.counter("attachments.upload.aborted").count());
+    }
+
+    @Test
+    void store_AbortsWhenTheBodyExceedsTheLimit() {
+        S3Service limited = service(DataSize.ofMegabytes(12));
+        try {
+            assertThrows(MaxUploadSizeExceededException.class, () -> limited.store("tasks/1/huge.bin",
+                    new GeneratedInputStream(20L * MB, -1), "application/octet-stream"));
+
+            assertEquals(1, s3.aborted.size());
+            assertTrue(s3.objects.isEmpty());
+            assertEquals(6, limited.availableBuffers());
+        } finally {
+            limited.stop();
+        }
+    }
+
+    @Test
+    void store_AbortsWhenTheClientDisconnects() {
+        assertThrows(IOException.class, () -> s3Service.store("tasks/1/cut.bin",
+                new GeneratedInputStream(30L * MB, 12L * MB), "application/octet-stream"));
+
+        assertEquals(1, s3.aborted.size());
+        assertTrue(s3.objects.isEmpty());
+        assertEquals(6, s3Service.availableBuffers());
+    }
+
+    @Test
+    void presignedUrls_LetClientsUploadAndDownloadWithoutTheServer() throws Exception {
+        byte[] content = "quarterly report".getBytes(StandardCharsets.UTF_8);
+        String key = "tasks/7/report final.txt";
+
+        PresignedUrl upload = s3Service.presignUpload(key, "text/plain", content.length);
+
+        assertEquals("PUT", upload.method());
+        assertTrue(upload.url().contains("X-Amz-Signature="));
+        assertTrue(upload.expiresAt().isAfter(Instant.now().plus(Duration.ofMinutes(14))));
+        assertEquals("text/plain", upload.headers().get("content-type"));
+        assertFalse(upload.headers().containsKey("host"));
+
+        // The client talks to storage directly with the signed headers
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest.Builder put = HttpRequest.newBuilder(URI.create(upload.url()))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content));
+        upload.headers().forEach((name, value) -> {
+            if (!Set.of("content-length", "host").contains(name)) {
+                put.header(name, value);
+            }
+        });
+        assertEquals(200, http.send(put.build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+        assertEquals(content.length, s3Service.objectSize(key));
+        assertNull(s3Service.objectSize("tasks/7/missing.txt"));
+
+        PresignedUrl download = s3Service.presignDownload(key);
+        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(download.url())).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertArrayEquals(content, response.body());
+        assertEquals(key, s3Service.keyOf(s3Service.urlOf(key)));
+        assertNull(s3Service.keyOf("https://elsewhere.example.com/tasks/7/report.txt"));
+    }
+
+    private static byte[] sha256(InputStream in) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest.digest();
+    }
+
+    // Produces a deterministic body of the given size without holding it in memory; fails with an IOException
+    // at failAt to simulate a dropped client connection
+    private static class GeneratedInputStream extends InputStream {
+
+        private final long size;
+        private final long failAt;
+        private long position;
+
+        GeneratedInputStream(long size, long failAt) {
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (failAt >= 0 && position >= failAt) {
+                throw new IOException("Connection reset by peer");
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int count = (int) Math.min(Math.min(length, size - position), 64 * 1024);
+            for (int i = 0; i < count; i++) {
+                long at = position + i;
+                buffer[offset + i] = (byte) (at * 31 + (at >>> 13));
+            }
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.BatchResult;
+import com.example.tasks_management_backend.dto.SubTaskRequest;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskRequest;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import com.example.tasks_management_backend.repository.SubTaskRepository;
+import com.example.tasks_management_backend.repository.TaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SubTaskRepository subTaskRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TaskOutboxService taskOutboxService;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private TaskCacheKeys taskCacheKeys;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskBatchService taskBatchService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        taskBatchService = new TaskBatchService(taskRepository, subTaskRepository, userService, taskOutboxService,
+                taskEventPublisher, taskCacheKeys, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), 5, 2);
+        User user = new User();
+        user.setId(1L);
+        lenient().when(userService.getCurrentUserReference()).thenReturn(user);
+        lenient().when(userService.getCurrentUserId()).thenReturn(1L);
+    }
+
+    @Test
+    void createTasks_ReportsInvalidItemsAndPersistsTheRestInChunks() {
+        assignIdsOnSave();
+        List<TaskRequest> requests = List.of(
+                task("First task", Task.Priority.HIGH),
+                task("x", Task.Priority.LOW),
+                task("Third task", null),
+                task("Fourth task", Task.Priority.MEDIUM),
+                task("Fifth task", Task.Priority.MEDIUM));
+
+        BatchResult result = taskBatchService.createTasks(requests);
+
+        assertEquals(5, result.requested());
+        assertEquals(3, result.created());
+        assertEquals(2, result.failed());
+        assertTrue(result.items().get(0).success());
+        assertTrue(result.items().get(1).errors().containsKey("title"));
+        assertTrue(result.items().get(2).errors().containsKey("priority"));
+        assertNotNull(result.items().get(4).id());
+        // Three valid items with a chunk size of two
+        verify(taskRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(taskOutboxService, times(1)).recordTaskCreated(any(Task.class));
+        verify(taskEventPublisher, times(3)).publish(eq(TaskEvent.Type.CREATED), any(Task.class));
+    }
+
+    @Test
+    void createTasks_RetriesFailedChunkItemByItem() {
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(task -> task.getTitle().equals("Broken task"))) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+            return tasks;
+        });
+
+        BatchResult result = taskBatchService.createTasks(List.of(
+                task("Good task", Task.Priority.LOW),
+                task("Broken task", Task.Priority.LOW)));
+
+        assertEquals(1, result.created());
+        assertTrue(result.items().get(0).success());
+        assertFalse(result.items().get(1).success());
+        assertEquals("constraint violated", result.items().get(1).errors().get("error"));
+    }
+
+    @Test
+    void createTasks_ValidatesNestedSubtasks() {
+        TaskRequest request = new TaskRequest("Parent task", Task.Priority.LOW, null, Task.Status.PENDING,
+                List.of(new SubTaskRequest(null, "ok", Task.Priority.LOW, null, Task.Status.PENDING)));
+
+        BatchResult result = taskBatchService.createTasks(List.of(request));
+
+        assertEquals(0, result.created());
+        assertTrue(result.items().get(0).errors().containsKey("subtasks[0].title"));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createTasks_RejectsEmptyOrOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> taskBatchService.createTasks(List.of()));
+        List<TaskRequest> tooMany = new ArrayList<>(Collections.nCopies(6, task("Task title", Task.Priority.LOW)));
+        assertThrows(IllegalArgumentException.class, () -> taskBatchService.createTasks(tooMany));
+    }
+
+    private void assignIdsOnSave() {
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+            return tasks;
+        });
+    }
+
+    private TaskRequest task(String title, Task.Priority priority) {
+        return new TaskRequest(title, priority, LocalDate.now().plusDays(1), Task.Status.PENDING, null);
+    }
+}
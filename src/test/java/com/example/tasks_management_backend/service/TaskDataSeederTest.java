@@ -0,0 +1,126 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.model.User;
+import com.example.tasks_management_backend.repository.TaskRepository;
+import com.example.tasks_management_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// The seeder commits its own batches, so the test runs outside the usual rolled-back test transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskDataSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final TaskEventPublisher taskEventPublisher = mock(TaskEventPublisher.class);
+    private final TaskCacheKeys taskCacheKeys = mock(TaskCacheKeys.class);
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM subtasks");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void seedUsers_WritesTheConfiguredDatasetAcrossWorkers() {
+        when(taskEventPublisher.isEnabled()).thenReturn(true);
+        // Batches commit on several worker threads
+        List<TaskEvent> events = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> events.addAll(invocation.getArgument(0))).when(taskEventPublisher).publishAll(anyList());
+        TaskDataSeeder seeder = seeder(12, 30, 1, 3, "PENDING:1,IN_PROGRESS:1,COMPLETED:1,CANCELLED:1", 3, 25);
+
+        TaskDataSeeder.SeedSummary summary = seeder.seedUsers();
+
+        assertEquals(12, summary.users());
+        assertEquals(360, summary.tasks());
+        assertEquals(12, count("SELECT COUNT(*) FROM users WHERE username LIKE 'seed-user-%'"));
+        assertEquals(12, count("SELECT COUNT(*) FROM user_roles WHERE roles = 'ROLE_USER'"));
+        assertEquals(360, count("SELECT COUNT(*) FROM tasks"));
+        assertEquals(summary.subtasks(), count("SELECT COUNT(*) FROM subtasks"));
+        assertEquals(360, count("SELECT COUNT(DISTINCT id) FROM tasks"));
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT task_id FROM subtasks GROUP BY task_id "
+                + "HAVING COUNT(*) NOT BETWEEN 1 AND 3)"));
+        assertEquals(30, count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM tasks GROUP BY user_id)"));
+        LocalDate today = LocalDate.now();
+        assertTrue(jdbcTemplate.queryForList("SELECT deadline FROM tasks", LocalDate.class).stream()
+                .allMatch(deadline -> !deadline.isBefore(today) && !deadline.isAfter(today.plusDays(10))));
+
+        assertEquals(360, events.size());
+        assertTrue(events.stream().allMatch(event -> event.type() == TaskEvent.Type.CREATED));
+        verify(taskCacheKeys, atLeast(12)).evictUser(any());
+
+        // Seeding again leaves the existing dataset alone
+        assertEquals(0, seeder.seedUsers().users());
+        assertEquals(12, count("SELECT COUNT(*) FROM users"));
+    }
+
+    @Test
+    void seedTasks_LeavesRoomForJpaIdsAndHonoursWeights() {
+        User owner = userRepository.save(new User("owner", "password", Set.of(Role.ROLE_USER)));
+        TaskDataSeeder seeder = seeder(0, 0, 0, 0, "PENDING:3,COMPLETED:0", 1, 40);
+
+        TaskDataSeeder.SeedSummary summary = seeder.seedTasks(owner.getId(), 120);
+
+        assertEquals(120, summary.tasks());
+        assertEquals(0, summary.subtasks());
+        assertEquals(120, count("SELECT COUNT(*) FROM tasks WHERE status = 'PENDING'"));
+        verify(taskEventPublisher, never()).publishAll(argThat(list -> !list.isEmpty()));
+
+        // Ids handed out by Hibernate's pooled optimizer must not collide with seeded ones
+        Task task = new Task();
+        task.setTitle("Saved through JPA");
+        task.setPriority(Task.Priority.LOW);
+        task.setStatus(Task.Status.PENDING);
+        task.setUser(owner);
+        taskRepository.save(task);
+        assertEquals(121, count("SELECT COUNT(DISTINCT id) FROM tasks"));
+    }
+
+    private TaskDataSeeder seeder(int users, int tasksPerUser, int minSubtasks, int maxSubtasks, String statusWeights,
+            int workers, int batchSize) {
+        return new TaskDataSeeder(jdbcTemplate, transactionManager, entityManagerFactory,
+                new BCryptPasswordEncoder(4), taskEventPublisher, taskCacheKeys, users, tasksPerUser,
+                minSubtasks, maxSubtasks, 0, 10, 2.0, statusWeights, "LOW:1,MEDIUM:1,HIGH:1", workers, batchSize,
+                42L, "password");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskCompletion;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReminderServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TaskCacheKeys taskCacheKeys;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskReminderService taskReminderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskReminderService = new TaskReminderService(taskRepository, emailService, taskCacheKeys, taskEventPublisher,
+                transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    void markPendingTasksComplete_SweepsInKeysetChunks() {
+        when(taskRepository.updateStatusIfUnchanged(anyList(), eq(Task.Status.PENDING), eq(Task.Status.COMPLETED)))
+                .thenAnswer(invocation -> {
+                    int[] updated = new int[invocation.<List<?>>getArgument(0).size()];
+                    Arrays.fill(updated, 1);
+                    return updated;
+                });
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 0L, Limit.of(2)))
+                .thenReturn(List.of(completion(3L, 1L), completion(5L, 1L)));
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 5L, Limit.of(2)))
+                .thenReturn(List.of(completion(8L, 2L), completion(9L, 3L)));
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 9L, Limit.of(2)))
+                .thenReturn(List.of(completion(12L, 2L)));
+
+        taskReminderService.markPendingTasksComplete();
+
+        verify(taskRepository).updateStatusIfUnchanged(List.of(completion(3L, 1L), completion(5L, 1L)),
+                Task.Status.PENDING, Task.Status.COMPLETED);
+        verify(taskRepository).updateStatusIfUnchanged(List.of(completion(8L, 2L), completion(9L, 3L)),
+                Task.Status.PENDING, Task.Status.COMPLETED);
+        verify(taskRepository).updateStatusIfUnchanged(List.of(completion(12L, 2L)),
+                Task.Status.PENDING, Task.Status.COMPLETED);
+        verify(taskRepository, never()).findByStatus(any());
+        // One transaction per chunk, each committed before its emails go out
+        InOrder inOrder = inOrder(transactionManager, emailService);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(emailService, times(2)).sendTaskCompletedEmail(any(), any(), any());
+        inOrder.verify(transactionManager).commit(any());
+        verify(taskCacheKeys, times(1)).evictUser(1L);
+        verify(emailService, times(5)).sendTaskCompletedEmail(eq("recipient@example.com"), any(), any());
+
+        assertEquals(5, meterRegistry.counter("tasks.reminder.completed").count());
+        assertEquals(3, meterRegistry.timer("tasks.reminder.chunk").count());
+        assertEquals(1, meterRegistry.timer("tasks.reminder.sweep").count());
+        assertEquals(5, meterRegistry.get("tasks.reminder.sweep.progress").gauge().value());
+    }
+
+    @Test
+    void markPendingTasksComplete_SkipsTasksChangedSinceTheRead() {
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 0L, Limit.of(2)))
+                .thenReturn(List.of(completion(3L, 1L), completion(5L, 2L)));
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 5L, Limit.of(2))).thenReturn(List.of());
+        // Task 3 was changed by its owner after the read, so its guarded UPDATE matched no row
+        when(taskRepository.updateStatusIfUnchanged(List.of(completion(3L, 1L), completion(5L, 2L)),
+                Task.Status.PENDING, Task.Status.COMPLETED)).thenReturn(new int[] {0, 1});
+        when(taskEventPublisher.isEnabled()).thenReturn(true);
+
+        taskReminderService.markPendingTasksComplete();
+
+        verify(taskEventPublisher).publishAll(argThat(events -> events.size() == 1
+                && events.get(0).taskId() == 5L
+                && events.get(0).type() == TaskEvent.Type.UPDATED
+                && events.get(0).status() == Task.Status.COMPLETED
+                && events.get(0).version() == 1));
+
+        verify(emailService, times(1)).sendTaskCompletedEmail(any(), eq("Task 5"), eq(5L));
+        verify(taskCacheKeys, times(1)).evictUser(2L);
+        verify(taskCacheKeys, never()).evictUser(1L);
+        assertEquals(1, meterRegistry.counter("tasks.reminder.completed").count());
+    }
+
+    @Test
+    void markPendingTasksComplete_NothingPending() {
+        when(taskRepository.findChunkByStatus(Task.Status.PENDING, 0L, Limit.of(2))).thenReturn(List.of());
+
+        taskReminderService.markPendingTasksComplete();
+
+        verify(taskRepository, never()).updateStatusIfUnchanged(any(), any(), any());
+        verifyNoInteractions(emailService, taskCacheKeys);
+        assertEquals(0, meterRegistry.counter("tasks.reminder.completed").count());
+    }
+
+    private TaskCompletion completion(Long id, Long userId) {
+        return new TaskCompletion(id, "Task " + id, userId, Task.Priority.MEDIUM, null, 0);
+    }
+}
@@ -1,5 +1,12 @@
 package com.example.tasks_management_backend.service;
 
+import com.example.tasks_management_backend.dto.AttachmentUploadRequest;
+import com.example.tasks_management_backend.dto.CursorPage;
+import com.example.tasks_management_backend.dto.TaskBulkUpdateRequest;
+import com.example.tasks_management_backend.dto.TaskCursor;
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskView;
+import com.example.tasks_management_backend.dto.UserView;
 import com.example.tasks_management_backend.model.Task;
 import com.example.tasks_management_backend.model.User;
 import com.example.tasks_management_backend.model.SubTask;
@@ -8,6 +15,7 @@ import com.example.tasks_management_backend.repository.SubTaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,6 +24,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -24,6 +36,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +52,18 @@ class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TaskCacheKeys taskCacheKeys;
+
+    @Mock
+    private TaskOutboxService taskOutboxService;
+
+    @Mock
+    private TaskEventPublisher taskEventPublisher;
+
+    @Mock
+    private AttachmentStorage attachmentStorage;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -61,7 +87,7 @@ class TaskServiceTest {
 
     @Test
     void saveTask_Success() {
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserReference()).thenReturn(user);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         Task savedTask = taskService.saveTask(task);
@@ -69,6 +95,7 @@ class TaskServiceTest {
         assertNotNull(savedTask);
         assertEquals("Test Task", savedTask.getTitle());
         verify(taskRepository, times(1)).save(task);
+        verify(taskCacheKeys).evictUser(1L);
     }
 
     @Test
@@ -85,10 +112,75 @@ class TaskServiceTest {
         assertEquals(Task.Status.PENDING, result.getContent().get(0).getStatus());
     }
 
+    @Test
+    void getTasks_RejectsUnsupportedSortField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTasks(null, null, null, "attachmentUrl", "asc", 0, 10));
+    }
+
+    @Test
+    void getTaskViewsAfter_IssuesCursorFromLastRow() {
+        LocalDate deadline = LocalDate.of(2030, 1, 2);
+        when(userService.getCurrentUserView()).thenReturn(UserView.from(user));
+        when(taskRepository.findTaskViews(any(org.springframework.data.jpa.domain.Specification.class),
+                any(Sort.class), eq(3), any()))
+                .thenReturn(List.of(view(1L, deadline), view(2L, deadline), view(3L, null)));
+
+        CursorPage<TaskView> result = taskService.getTaskViewsAfter(null, null, null, "deadline", "desc", null, 2);
+
+        assertTrue(result.hasNext());
+        assertEquals(2, result.content().size());
+        TaskCursor cursor = TaskCursor.decode(result.nextCursor());
+        assertEquals(new TaskCursor("deadline", "DESC", "2030-01-02", 2L), cursor);
+    }
+
+    @Test
+    void getTaskViewsAfter_LastPageHasNoCursor() {
+        when(userService.getCurrentUserView()).thenReturn(UserView.from(user));
+        when(taskRepository.findTaskViews(any(org.springframework.data.jpa.domain.Specification.class),
+                any(Sort.class), anyInt(), any()))
+                .thenReturn(List.of(view(1L, null)));
+
+        CursorPage<TaskView> result = taskService.getTaskViewsAfter(null, null, null, null, null, null, 10);
+
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getTaskViewsAfter_RejectsCursorForDifferentSort() {
+        String cursor = new TaskCursor("title", "ASC", "a", 5L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskViewsAfter(null, null, null, "deadline", "asc", cursor, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskViewsAfter(null, null, null, "attachmentUrl", "asc", null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskViewsAfter(null, null, null, "title", "asc", "not-a-cursor", 10));
+    }
+
+    @Test
+    void getTaskViewsAfter_RejectsTamperedCursorValueBeforeQuerying() {
+        String deadline = new TaskCursor("deadline", "ASC", "not-a-date", 5L).encode();
+        String priority = new TaskCursor("priority", "ASC", "URGENT", 5L).encode();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskViewsAfter(null, null, null, "deadline", "asc", deadline, 10));
+        assertEquals("Invalid cursor", e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getTaskViewsAfter(null, null, null, "priority", "asc", priority, 10));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private TaskView view(Long id, LocalDate deadline) {
+        return new TaskView(id, "Task " + id, Task.Priority.MEDIUM, null, deadline, Task.Status.PENDING, 0,
+                List.of(), null);
+    }
+
     @Test
     void updateTask_Success() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         Task updatedTask = new Task();
@@ -100,6 +192,95 @@ class TaskServiceTest {
         assertEquals("Updated Title", result.getTitle());
     }
 
+    @Test
+    void updateTask_UnchangedResubmissionWritesNothing() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        task.addSubTask(subTask(10L, "Same", null));
+        Task resubmitted = new Task();
+        resubmitted.setId(1L);
+        resubmitted.setTitle(task.getTitle());
+        resubmitted.setPriority(task.getPriority());
+        resubmitted.setDeadline(task.getDeadline());
+        resubmitted.setStatus(task.getStatus());
+        resubmitted.setSubtasks(List.of(subTask(10L, "Same", null)));
+
+        assertSame(task, taskService.updateTask(resubmitted));
+
+        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(taskCacheKeys, taskEventPublisher, taskOutboxService);
+    }
+
+    @Test
+    void updateTasks_IssuesOneUpdateAndEvictsOnce() {
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(taskRepository.updateStatusAndPriority(any(), eq(Task.Status.COMPLETED), isNull())).thenReturn(3);
+
+        int updated = taskService.updateTasks(
+                new TaskBulkUpdateRequest(List.of(1L, 2L, 3L), null, Task.Status.COMPLETED, null));
+
+        assertEquals(3, updated);
+        verify(taskRepository, times(1)).updateStatusAndPriority(any(), any(), any());
+        verify(taskCacheKeys, times(1)).evictUser(1L);
+        verify(taskRepository, never()).findBulkUpdateEvents(any(), any(), any());
+    }
+
+    @Test
+    void updateTasks_LocksTheRowsThenRunsOneUpdateAndPublishesTheirEvents() {
+        List<TaskEvent> events = List.of(
+                new TaskEvent(TaskEvent.Type.UPDATED, 2L, 1L, Task.Status.COMPLETED, Task.Priority.LOW, null, 4, 0L),
+                new TaskEvent(TaskEvent.Type.UPDATED, 3L, 1L, Task.Status.COMPLETED, Task.Priority.LOW, null, 2, 0L));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(taskEventPublisher.isEnabled()).thenReturn(true);
+        when(taskRepository.findBulkUpdateEvents(any(), eq(Task.Status.COMPLETED), isNull())).thenReturn(events);
+        when(taskRepository.updateStatusAndPriority(any(), eq(Task.Status.COMPLETED), isNull())).thenReturn(2);
+
+        int updated = taskService.updateTasks(
+                new TaskBulkUpdateRequest(List.of(2L, 3L, 4L), null, Task.Status.COMPLETED, null));
+
+        assertEquals(2, updated);
+        InOrder inOrder = inOrder(taskRepository, taskEventPublisher);
+        inOrder.verify(taskRepository).findBulkUpdateEvents(any(), any(), any());
+        inOrder.verify(taskRepository, times(1)).updateStatusAndPriority(any(), any(), any());
+        inOrder.verify(taskEventPublisher).publishAll(events);
+    }
+
+    @Test
+    void updateTasks_SkipsTheUpdateWhenNoRowIsLocked() {
+        when(taskEventPublisher.isEnabled()).thenReturn(true);
+        when(taskRepository.findBulkUpdateEvents(any(), eq(Task.Status.COMPLETED), isNull())).thenReturn(List.of());
+
+        int updated = taskService.updateTasks(
+                new TaskBulkUpdateRequest(List.of(2L), null, Task.Status.COMPLETED, null));
+
+        assertEquals(0, updated);
+        verify(taskRepository, never()).updateStatusAndPriority(any(), any(), any());
+        verifyNoInteractions(taskCacheKeys);
+    }
+
+    @Test
+    void updateTasks_RejectsAmbiguousOrEmptyRequests() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(
+                new TaskBulkUpdateRequest(List.of(1L), null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(
+                new TaskBulkUpdateRequest(null, null, Task.Status.COMPLETED, null)));
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasks(
+                new TaskBulkUpdateRequest(List.of(), null, Task.Status.COMPLETED, null)));
+        verifyNoInteractions(taskRepository, taskCacheKeys);
+    }
+
+    @Test
+    void saveTask_HighPriorityRecordsOutboxEvent() {
+        task.setPriority(Task.Priority.HIGH);
+        when(userService.getCurrentUserReference()).thenReturn(user);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        taskService.saveTask(task);
+
+        verify(taskOutboxService, times(1)).recordTaskCreated(task);
+        verify(taskEventPublisher, times(1)).publish(TaskEvent.Type.CREATED, task);
+    }
+
     @Test
     void updateTask_NotFound() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -113,7 +294,7 @@ class TaskServiceTest {
         subTask.setTitle("SubTask 1");
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(subTaskRepository.save(any(SubTask.class))).thenReturn(subTask);
 
         SubTask result = taskService.createSubTask(1L, subTask);
@@ -123,10 +304,59 @@ class TaskServiceTest {
         verify(subTaskRepository, times(1)).save(subTask);
     }
 
+    @Test
+    void createAttachmentUpload_IssuesKeyScopedToTheTask() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(attachmentStorage.supportsPresignedUrls()).thenReturn(true);
+        when(attachmentStorage.getMaxUploadBytes()).thenReturn(1024L);
+
+        taskService.createAttachmentUpload(1L, new AttachmentUploadRequest("../notes.txt", null, 100L));
+
+        verify(attachmentStorage).presignUpload(
+                argThat(key -> key.startsWith("tasks/1/") && key.endsWith("_.._notes.txt")),
+                eq("application/octet-stream"), eq(100L));
+        assertThrows(MaxUploadSizeExceededException.class, () -> taskService.createAttachmentUpload(1L,
+                new AttachmentUploadRequest("big.bin", null, 2048L)));
+    }
+
+    @Test
+    void createAttachmentUpload_IsNotImplementedWithoutPresignedUrls() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> taskService
+                .createAttachmentUpload(1L, new AttachmentUploadRequest("notes.txt", null, 100L)));
+
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, e.getStatusCode());
+        verify(attachmentStorage, never()).presignUpload(any(), any(), anyLong());
+    }
+
+    @Test
+    void completeAttachmentUpload_RecordsUrlOnlyForUploadedKeysOfTheTask() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userService.getCurrentUserId()).thenReturn(1L);
+        when(attachmentStorage.objectSize("tasks/1/abc_notes.txt")).thenReturn(100L);
+        when(attachmentStorage.objectSize("tasks/1/missing.txt")).thenReturn(null);
+        when(attachmentStorage.urlOf("tasks/1/abc_notes.txt")).thenReturn("https://bucket/tasks/1/abc_notes.txt");
+        when(taskRepository.save(task)).thenReturn(task);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.completeAttachmentUpload(1L, "tasks/2/abc_notes.txt"));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.completeAttachmentUpload(1L, "tasks/1/missing.txt"));
+        verify(taskRepository, never()).save(any(Task.class));
+
+        taskService.completeAttachmentUpload(1L, "tasks/1/abc_notes.txt");
+
+        assertEquals("https://bucket/tasks/1/abc_notes.txt", task.getAttachmentUrl());
+        verify(taskCacheKeys).evictUser(1L);
+    }
+
     @Test
     void updateTask_WithSubTasks() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserId()).thenReturn(1L);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
         SubTask existingSubTask = new SubTask();
@@ -152,4 +382,45 @@ class TaskServiceTest {
         assertEquals("New Title", existingSubTask.getTitle());
         assertEquals(2, task.getSubtasks().size());
     }
+
+    @Test
+    void mergeSubtasks_ReportsDiffAndLeavesUnchangedRowsAlone() {
+        LocalDate deadline = LocalDate.of(2030, 1, 1);
+        SubTask kept = subTask(1L, "Kept as is", deadline);
+        SubTask edited = subTask(2L, "Before edit", deadline);
+        SubTask dropped = subTask(3L, "Dropped", deadline);
+        task.addSubTask(kept);
+        task.addSubTask(edited);
+        task.addSubTask(dropped);
+
+        SubTask otherTasksSubTask = subTask(99L, "Belongs elsewhere", deadline);
+        List<SubTask> incoming = List.of(
+                subTask(1L, "Kept as is", deadline),
+                subTask(2L, "After edit", deadline.plusDays(1)),
+                subTask(null, "Brand new", deadline),
+                otherTasksSubTask);
+
+        TaskService.SubtaskDiff diff = TaskService.mergeSubtasks(task, incoming);
+
+        assertEquals(new TaskService.SubtaskDiff(1, 1, 1, 1), diff);
+        assertEquals(List.of(kept, edited), task.getSubtasks().subList(0, 2));
+        assertEquals("Brand new", task.getSubtasks().get(2).getTitle());
+        assertSame(task, task.getSubtasks().get(2).getParentTask());
+        assertEquals("After edit", edited.getTitle());
+        assertEquals(deadline.plusDays(1), edited.getDeadline());
+        assertNull(otherTasksSubTask.getParentTask());
+        // The new subtask has no id until flushed, so only the persisted two are resubmitted
+        task.getSubtasks().remove(2);
+        assertTrue(TaskService.mergeSubtasks(task, List.of(kept, edited)).isEmpty());
+    }
+
+    private static SubTask subTask(Long id, String title, LocalDate deadline) {
+        SubTask subTask = new SubTask();
+        subTask.setId(id);
+        subTask.setTitle(title);
+        subTask.setPriority(Task.Priority.MEDIUM);
+        subTask.setStatus(Task.Status.PENDING);
+        subTask.setDeadline(deadline);
+        return subTask;
+    }
 }
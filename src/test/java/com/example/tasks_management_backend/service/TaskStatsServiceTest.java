@@ -0,0 +1,151 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.TaskEvent;
+import com.example.tasks_management_backend.dto.TaskStats;
+import com.example.tasks_management_backend.model.Task;
+import com.example.tasks_management_backend.repository.TaskProjectionRepository;
+import com.example.tasks_management_backend.repository.UserTaskStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The service commits its own transactions, so the test does not run inside one
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskStatsService.class, TaskStatsServiceTest.Config.class})
+class TaskStatsServiceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskProjectionRepository projectionRepository;
+
+    @Autowired
+    private UserTaskStatsRepository statsRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    @AfterEach
+    void cleanUp() {
+        projectionRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    @Test
+    void apply_KeepsCountsOfTheLatestStateOfEachTask() {
+        taskStatsService.apply(List.of(
+                event(TaskEvent.Type.CREATED, 1L, Task.Status.PENDING, Task.Priority.HIGH, today.minusDays(2), 0),
+                event(TaskEvent.Type.CREATED, 2L, Task.Status.PENDING, Task.Priority.LOW, today.plusDays(5), 0),
+                event(TaskEvent.Type.CREATED, 3L, Task.Status.COMPLETED, Task.Priority.LOW, today.minusDays(1), 0),
+                event(TaskEvent.Type.UPDATED, 1L, Task.Status.IN_PROGRESS, Task.Priority.HIGH, today.minusDays(2), 1)));
+        taskStatsService.apply(List.of(
+                event(TaskEvent.Type.CREATED, 4L, Task.Status.PENDING, Task.Priority.MEDIUM, today.plusDays(3), 0),
+                event(TaskEvent.Type.DELETED, 2L, Task.Status.PENDING, Task.Priority.LOW, today.plusDays(5), 0)));
+
+        TaskStats stats = taskStatsService.getStats(7L);
+
+        assertEquals(3, stats.total());
+        assertEquals(1, stats.byStatus().get(Task.Status.IN_PROGRESS));
+        assertEquals(1, stats.byStatus().get(Task.Status.PENDING));
+        assertEquals(1, stats.byStatus().get(Task.Status.COMPLETED));
+        assertEquals(1, stats.byPriority().get(Task.Priority.LOW));
+        assertEquals(1, stats.byPriority().get(Task.Priority.HIGH));
+        // Task 1 is past its deadline; task 3 is too, but completed
+        assertEquals(1, stats.overdue());
+        assertEquals(today.plusDays(3), stats.nextDeadline());
+        assertEquals(0, taskStatsService.getStats(8L).total());
+    }
+
+    @Test
+    void apply_SkipsReplayedAndOutOfOrderEvents() {
+        List<TaskEvent> batch = List.of(
+                event(TaskEvent.Type.CREATED, 1L, Task.Status.PENDING, Task.Priority.LOW, null, 0),
+                event(TaskEvent.Type.UPDATED, 1L, Task.Status.COMPLETED, Task.Priority.LOW, null, 1),
+                event(TaskEvent.Type.CREATED, 2L, Task.Status.PENDING, Task.Priority.LOW, null, 0),
+                event(TaskEvent.Type.DELETED, 2L, Task.Status.PENDING, Task.Priority.LOW, null, 0));
+        assertEquals(4, taskStatsService.apply(batch));
+
+        // Redelivery of the whole batch, an older update and a create after the delete change nothing
+        assertEquals(0, taskStatsService.apply(batch));
+        assertEquals(0, taskStatsService.apply(List.of(
+                event(TaskEvent.Type.UPDATED, 1L, Task.Status.IN_PROGRESS, Task.Priority.HIGH, null, 0),
+                event(TaskEvent.Type.UPDATED, 2L, Task.Status.PENDING, Task.Priority.HIGH, null, 5))));
+
+        TaskStats stats = taskStatsService.getStats(7L);
+        assertEquals(1, stats.total());
+        assertEquals(1, stats.byStatus().get(Task.Status.COMPLETED));
+        assertEquals(0, stats.byPriority().get(Task.Priority.HIGH));
+    }
+
+    @Test
+    void apply_ConcurrentBatchesForOneUserDoNotLoseCounts() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                long firstId = 100L + thread * 25;
+                results.add(executor.submit(() -> {
+                    int applied = 0;
+                    for (long id = firstId; id < firstId + 25; id++) {
+                        applied += taskStatsService.apply(List.of(
+                                event(TaskEvent.Type.CREATED, id, Task.Status.PENDING, Task.Priority.MEDIUM, null, 0)));
+                    }
+                    return applied;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(25, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100, taskStatsService.getStats(7L).byStatus().get(Task.Status.PENDING));
+    }
+
+    @Test
+    void apply_DropsMalformedEvents() {
+        List<TaskEvent> events = new ArrayList<>();
+        events.add(null);
+        events.add(new TaskEvent(TaskEvent.Type.CREATED, 1L, null, Task.Status.PENDING, null, null, 0, 0L));
+
+        assertEquals(0, taskStatsService.apply(events));
+        assertEquals(0, projectionRepository.count());
+    }
+
+    private TaskEvent event(TaskEvent.Type type, Long taskId, Task.Status status, Task.Priority priority,
+            LocalDate deadline, int version) {
+        return new TaskEvent(type, taskId, 7L, status, priority, deadline, version, System.currentTimeMillis());
+    }
+}
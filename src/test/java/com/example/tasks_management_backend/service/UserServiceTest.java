@@ -0,0 +1,89 @@
+package com.example.tasks_management_backend.service;
+
+import com.example.tasks_management_backend.dto.UserSnapshot;
+import com.example.tasks_management_backend.dto.UserView;
+import com.example.tasks_management_backend.model.Role;
+import com.example.tasks_management_backend.model.User;
+import com.example.tasks_management_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private UserService userService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void currentUserId_ComesFromTheTokenPrincipalWithoutALookup() {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "alice", "", authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+        User reference = new User();
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertEquals(7L, userService.getCurrentUserId());
+        assertSame(reference, userService.getCurrentUserReference());
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void currentUserId_FallsBackToTheUsernameLookupForOtherPrincipals() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        UserSnapshot snapshot = new UserSnapshot(7L, "alice", "alice@example.com", "hash", Set.of(Role.ROLE_USER));
+        when(userCache.findByUsername("alice")).thenReturn(Optional.of(snapshot));
+        User reference = new User();
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertEquals(7L, userService.getCurrentUserId());
+        assertSame(reference, userService.getCurrentUserReference());
+        assertEquals(new UserView(7L, "alice", "alice@example.com", Set.of(Role.ROLE_USER)),
+                userService.getCurrentUserView());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void userSnapshot_IsAnImmutableCopyThatDoesNotPrintThePasswordHash() {
+        User user = new User("alice", "hash", new HashSet<>(Set.of(Role.ROLE_USER)));
+        user.setId(7L);
+
+        UserSnapshot snapshot = UserSnapshot.from(user);
+        user.getRoles().add(Role.ROLE_ADMIN);
+
+        assertEquals(Set.of(Role.ROLE_USER), snapshot.roles());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.roles().add(Role.ROLE_ADMIN));
+        assertFalse(snapshot.toString().contains("hash"), snapshot.toString());
+    }
+}